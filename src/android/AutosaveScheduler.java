@@ -0,0 +1,298 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debounces saves per snapshot name so a burst of checkpoints becomes one commit.
+ *
+ * Only the latest payload for a name is kept. It is committed once no newer save has arrived for
+ * {@code quietMillis}, or {@code maxDelayMillis} after the first save of the burst, whichever comes
+ * first; a save whose payload is replaced completes at once with status {@code coalesced}. At most one
+ * commit per name is in flight: saves arriving meanwhile wait for it and then go out as the next burst.
+ * On pause everything pending is committed immediately, and saves made while paused are not delayed.
+ * While {@link #hold held}, for example because Play Services is unavailable, saves keep coalescing
+ * but are not committed until the hold is released or the app is paused.
+ */
+final class AutosaveScheduler {
+
+    static final long DEFAULT_QUIET_MILLIS = 2000;
+    static final long DEFAULT_MAX_DELAY_MILLIS = 10 * 1000;
+
+    static final String STATUS_SAVED = "saved";
+    static final String STATUS_COALESCED = "coalesced";
+
+    /** One save request as it arrived from JS. */
+    static final class Save {
+        final String snapshotName;
+        final String description;
+        final JSONObject contents;
+        @Nullable
+        final String coverImagePath;
+        @Nullable
+        final byte[] coverImageBytes;
+        final CallbackContext callbackContext;
+
+        Save(@NonNull String snapshotName, String description, @NonNull JSONObject contents,
+             @Nullable String coverImagePath, @Nullable byte[] coverImageBytes, @NonNull CallbackContext callbackContext) {
+            this.snapshotName = snapshotName;
+            this.description = description;
+            this.contents = contents;
+            this.coverImagePath = coverImagePath;
+            this.coverImageBytes = coverImageBytes;
+            this.callbackContext = callbackContext;
+        }
+    }
+
+    interface Sink {
+        /**
+         * Opens and commits {@code save}, reporting the outcome to {@code callbackContext}; must not wait for
+         * the app to return to the foreground, as pending saves are committed on pause.
+         */
+        void commit(@NonNull Save save, @NonNull CallbackContext callbackContext);
+    }
+
+    private static final class Slot {
+        @Nullable
+        Save latest;
+        long firstQueuedAt;
+        @Nullable
+        ScheduledFuture<?> timer;
+        boolean committing;
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final Sink sink;
+    private final CordovaWebView webView;
+
+    // Guarded by this.
+    private final Map<String, Slot> slots = new HashMap<>();
+    private long quietMillis = DEFAULT_QUIET_MILLIS;
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+    private boolean paused = false;
+    private boolean held = false;
+
+    AutosaveScheduler(@NonNull ScheduledExecutorService scheduler, @NonNull Sink sink, CordovaWebView webView) {
+        this.scheduler = scheduler;
+        this.sink = sink;
+        this.webView = webView;
+    }
+
+    /** Applies to saves queued from now on. */
+    synchronized void configure(long quietMillis, long maxDelayMillis) {
+        this.quietMillis = Math.max(0, quietMillis);
+        this.maxDelayMillis = Math.max(this.quietMillis, maxDelayMillis);
+    }
+
+    void submit(@NonNull Save save) {
+        Save superseded;
+        synchronized (this) {
+            Slot slot = slots.get(save.snapshotName);
+            if (slot == null) {
+                slot = new Slot();
+                slots.put(save.snapshotName, slot);
+            }
+            superseded = slot.latest;
+            if (superseded == null) {
+                slot.firstQueuedAt = SystemClock.elapsedRealtime();
+            }
+            slot.latest = save;
+            if (!slot.committing) {
+                schedule(save.snapshotName, slot);
+            }
+        }
+        if (superseded != null) {
+            complete(superseded.callbackContext, STATUS_COALESCED);
+        }
+    }
+
+    /** The payload waiting to be committed for {@code snapshotName}, if any. */
+    @Nullable
+    synchronized JSONObject pending(@NonNull String snapshotName) {
+        Slot slot = slots.get(snapshotName);
+        return slot != null && slot.latest != null ? slot.latest.contents : null;
+    }
+
+    /** Commits everything pending now and stops delaying saves until {@link #resume}. */
+    void flush() {
+        List<String> due = new ArrayList<>();
+        synchronized (this) {
+            paused = true;
+            for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                if (slot.timer != null) {
+                    slot.timer.cancel(false);
+                    slot.timer = null;
+                }
+                if (slot.latest != null && !slot.committing) {
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        for (String snapshotName : due) {
+            commit(snapshotName);
+        }
+    }
+
+    synchronized void resume() {
+        paused = false;
+    }
+
+    /** Stops or restarts committing; saves pending when the hold is released go out on their normal timers. */
+    synchronized void hold(boolean held) {
+        if (this.held == held) {
+            return;
+        }
+        this.held = held;
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            Slot slot = entry.getValue();
+            if (held && slot.timer != null) {
+                slot.timer.cancel(false);
+                slot.timer = null;
+            } else if (!held && slot.latest != null && !slot.committing) {
+                schedule(entry.getKey(), slot);
+            }
+        }
+    }
+
+    /** Drops pending saves without committing them; their callbacks are never completed. */
+    synchronized void clear() {
+        for (Slot slot : slots.values()) {
+            if (slot.timer != null) {
+                slot.timer.cancel(false);
+            }
+        }
+        slots.clear();
+    }
+
+    // Caller holds this.
+    private void schedule(final String snapshotName, Slot slot) {
+        if (slot.timer != null) {
+            slot.timer.cancel(false);
+            slot.timer = null;
+        }
+        if (held && !paused) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        long delay = paused ? 0 : Math.max(0, Math.min(now + quietMillis, slot.firstQueuedAt + maxDelayMillis) - now);
+        try {
+            slot.timer = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    commit(snapshotName);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the save is dropped with everything else.
+        }
+    }
+
+    private void commit(String snapshotName) {
+        Save save;
+        synchronized (this) {
+            Slot slot = slots.get(snapshotName);
+            if (slot == null || slot.latest == null || slot.committing) {
+                return;
+            }
+            save = slot.latest;
+            slot.latest = null;
+            slot.timer = null;
+            slot.committing = true;
+        }
+        sink.commit(save, new CommitCallbackContext(snapshotName, save.callbackContext));
+    }
+
+    private void committed(String snapshotName) {
+        synchronized (this) {
+            Slot slot = slots.get(snapshotName);
+            if (slot == null) {
+                return;
+            }
+            slot.committing = false;
+            if (slot.latest != null) {
+                schedule(snapshotName, slot);
+            } else {
+                slots.remove(snapshotName);
+            }
+        }
+    }
+
+    private static void complete(CallbackContext callbackContext, String status) {
+        try {
+            callbackContext.success(new JSONObject().put("status", status));
+        } catch (JSONException e) {
+            callbackContext.error(e.getMessage());
+        }
+    }
+
+    /** Reports a commit to the save it carried and lets the next burst for the name go out. */
+    private final class CommitCallbackContext extends CallbackContext {
+        final String snapshotName;
+        final CallbackContext delegate;
+        private boolean done;
+
+        CommitCallbackContext(String snapshotName, CallbackContext delegate) {
+            super(delegate.getCallbackId(), webView);
+            this.snapshotName = snapshotName;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            if (pluginResult.getKeepCallback()) {
+                return;
+            }
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+            }
+            try {
+                if (pluginResult.getStatus() == PluginResult.Status.OK.ordinal()) {
+                    complete(delegate, STATUS_SAVED);
+                } else {
+                    delegate.sendPluginResult(pluginResult);
+                }
+            } finally {
+                committed(snapshotName);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.common.ConnectionResult;
+import com.google.android.gms.common.GoogleApiAvailability;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the Play Services availability status instead of asking {@link GoogleApiAvailability} on every
+ * query.
+ *
+ * The status is checked once on first use, again on {@link #refresh} (the plugin calls it on resume),
+ * and every {@code intervalMillis} while the app is in the foreground if an interval is set. Listeners
+ * hear only about transitions, including the first known status. Until that first check a status is
+ * reported as available, so nothing is held back on a guess.
+ */
+final class AvailabilityMonitor implements LifecycleManager.Participant {
+
+    static final int UNKNOWN = -1;
+
+    interface Listener {
+        void onAvailabilityChanged(int status, boolean available);
+    }
+
+    private final Context context;
+    private final ScheduledExecutorService scheduler;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this.
+    private int status = UNKNOWN;
+    private long intervalMillis = 0;
+    private boolean paused = false;
+    @Nullable
+    private ScheduledFuture<?> timer;
+
+    AvailabilityMonitor(@NonNull Context context, @NonNull ScheduledExecutorService scheduler) {
+        this.context = context;
+        this.scheduler = scheduler;
+    }
+
+    void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    /** The cached {@link ConnectionResult} status, checked now if it never has been. */
+    int status() {
+        synchronized (this) {
+            if (status != UNKNOWN) {
+                return status;
+            }
+        }
+        return refresh();
+    }
+
+    /** Whether services were available at the last check; {@code true} before the first one. */
+    synchronized boolean isAvailable() {
+        return status == UNKNOWN || status == ConnectionResult.SUCCESS;
+    }
+
+    /** Checks again and tells listeners if the status changed. */
+    int refresh() {
+        int current = GoogleApiAvailability.getInstance().isGooglePlayServicesAvailable(context);
+        boolean changed;
+        synchronized (this) {
+            changed = current != status;
+            status = current;
+        }
+        if (changed) {
+            for (Listener listener : listeners) {
+                listener.onAvailabilityChanged(current, current == ConnectionResult.SUCCESS);
+            }
+        }
+        return current;
+    }
+
+    /** Re-checks every {@code intervalMillis} while in the foreground; 0 re-checks on resume only. */
+    synchronized void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = Math.max(0, intervalMillis);
+        reschedule();
+    }
+
+    synchronized long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    @Override
+    public synchronized void onPause() {
+        paused = true;
+        reschedule();
+    }
+
+    @Override
+    public void onResume() {
+        synchronized (this) {
+            paused = false;
+            reschedule();
+        }
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                refresh();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void onDestroy() {
+        paused = true;
+        reschedule();
+        listeners.clear();
+    }
+
+    // Caller holds this.
+    private void reschedule() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        if (paused || intervalMillis == 0) {
+            return;
+        }
+        try {
+            timer = scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    refresh();
+                }
+            }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; nothing left to monitor.
+        }
+    }
+}
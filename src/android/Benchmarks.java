@@ -0,0 +1,227 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A small on-device benchmark harness in the style of JMH: every case runs for a warmup period, then
+ * for a number of timed iterations, and is reported as the mean time per operation with its standard
+ * deviation. Results are fed into a sink so the JIT cannot drop the work.
+ *
+ * The report can be kept as a baseline and passed back to a later run, which then marks every case
+ * that became slower than {@code threshold} times its baseline as a regression.
+ */
+final class Benchmarks {
+
+    static final String OPTION_WARMUP_MILLIS = "warmupMillis";
+    static final String OPTION_MEASURE_MILLIS = "measureMillis";
+    static final String OPTION_ITERATIONS = "iterations";
+    static final String OPTION_INCLUDE = "include";
+    static final String OPTION_BASELINE = "baseline";
+    static final String OPTION_THRESHOLD = "threshold";
+
+    private static final long DEFAULT_WARMUP_MILLIS = 500;
+    private static final long DEFAULT_MEASURE_MILLIS = 500;
+    private static final int DEFAULT_ITERATIONS = 3;
+    private static final double DEFAULT_THRESHOLD = 1.2;
+
+    interface Body {
+        /** Runs one operation; the result goes to the sink. */
+        @Nullable
+        Object run() throws Exception;
+    }
+
+    private static final class Case {
+        final String name;
+        final int size;
+        final Body body;
+
+        Case(String name, int size, Body body) {
+            this.name = name;
+            this.size = size;
+            this.body = body;
+        }
+    }
+
+    private final List<Case> cases = new ArrayList<>();
+    private volatile int sink;
+
+    /** Adds a case; {@code size} is the number of records or bytes one operation handles. */
+    void add(@NonNull String name, int size, @NonNull Body body) {
+        cases.add(new Case(name, size, body));
+    }
+
+    /** Runs the cases matching {@code options.include} and returns the report. */
+    JSONObject run(@Nullable JSONObject options) throws Exception {
+        long warmupMillis = DEFAULT_WARMUP_MILLIS;
+        long measureMillis = DEFAULT_MEASURE_MILLIS;
+        int iterations = DEFAULT_ITERATIONS;
+        double threshold = DEFAULT_THRESHOLD;
+        Pattern include = null;
+        Map<String, Double> baseline = new HashMap<>();
+        if (options != null) {
+            warmupMillis = Math.max(0, options.optLong(OPTION_WARMUP_MILLIS, warmupMillis));
+            measureMillis = Math.max(1, options.optLong(OPTION_MEASURE_MILLIS, measureMillis));
+            iterations = Math.max(1, options.optInt(OPTION_ITERATIONS, iterations));
+            threshold = options.optDouble(OPTION_THRESHOLD, threshold);
+            String pattern = options.optString(OPTION_INCLUDE, "");
+            if (!pattern.isEmpty()) {
+                include = Pattern.compile(pattern);
+            }
+            JSONObject previous = options.optJSONObject(OPTION_BASELINE);
+            JSONArray previousResults = previous != null ? previous.optJSONArray("results") : null;
+            if (previousResults != null) {
+                for (int i = 0; i < previousResults.length(); i++) {
+                    JSONObject result = previousResults.getJSONObject(i);
+                    baseline.put(result.getString("name"), result.getDouble("nsPerOp"));
+                }
+            }
+        }
+
+        JSONArray results = new JSONArray();
+        JSONArray regressions = new JSONArray();
+        for (Case benchmark : cases) {
+            if (include != null && !include.matcher(benchmark.name).find()) {
+                continue;
+            }
+            JSONObject result = measure(benchmark, warmupMillis, measureMillis, iterations);
+            Double previous = baseline.get(benchmark.name);
+            if (previous != null && previous > 0) {
+                double ratio = result.getDouble("nsPerOp") / previous;
+                result.put("baselineNsPerOp", previous);
+                result.put("ratio", ratio);
+                if (ratio > threshold) {
+                    result.put("regression", true);
+                    regressions.put(benchmark.name);
+                }
+            }
+            results.put(result);
+        }
+
+        JSONObject settings = new JSONObject();
+        settings.put(OPTION_WARMUP_MILLIS, warmupMillis);
+        settings.put(OPTION_MEASURE_MILLIS, measureMillis);
+        settings.put(OPTION_ITERATIONS, iterations);
+        settings.put(OPTION_THRESHOLD, threshold);
+
+        JSONObject report = new JSONObject();
+        report.put("device", Build.MODEL);
+        report.put("sdkInt", Build.VERSION.SDK_INT);
+        report.put("settings", settings);
+        report.put("results", results);
+        report.put("regressions", regressions);
+        return report;
+    }
+
+    private JSONObject measure(Case benchmark, long warmupMillis, long measureMillis, int iterations) throws Exception {
+        loop(benchmark.body, warmupMillis);
+
+        double[] nsPerOp = new double[iterations];
+        long operations = 0;
+        for (int i = 0; i < iterations; i++) {
+            long[] run = loop(benchmark.body, measureMillis);
+            nsPerOp[i] = (double) run[1] / run[0];
+            operations += run[0];
+        }
+
+        double mean = 0;
+        for (double value : nsPerOp) {
+            mean += value;
+        }
+        mean /= iterations;
+        double variance = 0;
+        for (double value : nsPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stdDev = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+
+        JSONObject result = new JSONObject();
+        result.put("name", benchmark.name);
+        result.put("size", benchmark.size);
+        result.put("nsPerOp", Math.round(mean));
+        result.put("stdDevNs", Math.round(stdDev));
+        result.put("operations", operations);
+        return result;
+    }
+
+    /** Runs {@code body} for at least {@code millis} and returns {operations, elapsed nanoseconds}. */
+    private long[] loop(Body body, long millis) throws Exception {
+        long budget = millis * 1_000_000L;
+        long start = System.nanoTime();
+        long elapsed = 0;
+        long operations = 0;
+        int hash = 0;
+        do {
+            Object result = body.run();
+            hash ^= System.identityHashCode(result);
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budget);
+        sink ^= hash;
+        return new long[] { operations, elapsed };
+    }
+
+    /** A JSON object of roughly {@code bytes} bytes shaped like a typical save: many small slots. */
+    static JSONObject syntheticSave(int bytes) throws JSONException {
+        JSONObject save = new JSONObject();
+        JSONArray inventory = new JSONArray();
+        int size = 0;
+        int slot = 0;
+        while (size < bytes) {
+            JSONObject item = new JSONObject();
+            item.put("id", "item_" + slot);
+            item.put("count", slot % 99);
+            item.put("durability", (slot % 1000) / 10.0);
+            item.put("tag", "abcdefghijklmnopqrstuvwxyz0123456789");
+            inventory.put(item);
+            // {"id":"item_N","count":N,"durability":N.N,"tag":"..."},
+            size += 90;
+            slot++;
+        }
+        save.put("version", 1);
+        save.put("inventory", inventory);
+        return save;
+    }
+
+    /** A callback that feeds every result into the sink instead of the WebView. */
+    CallbackContext sinkContext() {
+        return new CallbackContext("benchmark", null) {
+            @Override
+            public void sendPluginResult(PluginResult pluginResult) {
+                sink ^= System.identityHashCode(pluginResult);
+            }
+        };
+    }
+}
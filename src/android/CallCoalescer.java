@@ -0,0 +1,86 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins identical read actions that are in flight at the same time.
+ *
+ * Coalescing happens on the plugin result rather than on the Play Games Task because most results are
+ * DataBuffers that only one consumer may read and release; the serialized result can be sent to any
+ * number of callbacks.
+ */
+final class CallCoalescer {
+
+    private final Map<String, SharedCallbackContext> pending = new HashMap<>();
+
+    /**
+     * Registers {@code callbackContext} for the call identified by {@code key}. Returns the context the
+     * action should run with, or {@code null} when an identical call is already running and will answer
+     * this callback too.
+     */
+    @Nullable
+    synchronized CallbackContext join(@NonNull String key, @NonNull CallbackContext callbackContext, @NonNull CordovaWebView webView) {
+        SharedCallbackContext shared = pending.get(key);
+        if (shared != null) {
+            shared.members.add(callbackContext);
+            return null;
+        }
+        shared = new SharedCallbackContext(key, callbackContext, webView);
+        pending.put(key, shared);
+        return shared;
+    }
+
+    // A call stops taking members once it starts answering: a streamed result is only whole from its first chunk.
+    private synchronized List<CallbackContext> settle(SharedCallbackContext shared) {
+        if (pending.get(shared.key) == shared) {
+            pending.remove(shared.key);
+        }
+        return new ArrayList<>(shared.members);
+    }
+
+    private final class SharedCallbackContext extends CallbackContext {
+        final String key;
+        final List<CallbackContext> members = new ArrayList<>();
+
+        SharedCallbackContext(String key, CallbackContext first, CordovaWebView webView) {
+            super(first.getCallbackId(), webView);
+            this.key = key;
+            this.members.add(first);
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            for (CallbackContext member : settle(this)) {
+                member.sendPluginResult(pluginResult);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.CancellationTokenSource;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadlines and explicit cancellation for plugin calls.
+ *
+ * A call opts in by appending {@code {gpgsCall: {id, timeoutMillis}}} to its arguments. Its callback is
+ * then wrapped so that exactly one final result reaches JS: the action's own, a timeout error or a
+ * cancellation error, whichever comes first. Anything the action sends afterwards is dropped. Each
+ * tracked call owns a {@link CancellationTokenSource} that {@link CallGate} uses to stop retries and
+ * queued attempts and to release late DataBuffers.
+ */
+final class CallDeadlines {
+
+    static final String CONTROL_KEY = "gpgsCall";
+
+    static final String REASON_TIMEOUT = "timeout";
+    static final String REASON_CANCELLED = "cancelled";
+
+    /** The {@code gpgsCall} element of a call's arguments. */
+    static final class Control {
+        final String callId;
+        final long timeoutMillis;
+
+        private Control(String callId, long timeoutMillis) {
+            this.callId = callId;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    private final Map<String, TrackedCallbackContext> calls = new HashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    CallDeadlines(@NonNull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /** The control element if {@code args} ends with one. */
+    @Nullable
+    static Control extract(@NonNull JSONArray args) {
+        if (args.length() == 0) {
+            return null;
+        }
+        JSONObject last = args.optJSONObject(args.length() - 1);
+        JSONObject control = last != null ? last.optJSONObject(CONTROL_KEY) : null;
+        if (control == null) {
+            return null;
+        }
+        return new Control(control.optString("id", null), control.optLong("timeoutMillis", 0));
+    }
+
+    /** {@code args} without its trailing control element. */
+    @NonNull
+    static JSONArray strip(@NonNull JSONArray args) {
+        JSONArray stripped = new JSONArray();
+        for (int i = 0; i < args.length() - 1; i++) {
+            stripped.put(args.opt(i));
+        }
+        return stripped;
+    }
+
+    /** The cancellation token of a tracked call, or {@code null} for an untracked callback. */
+    @Nullable
+    static CancellationToken tokenOf(@Nullable CallbackContext callbackContext) {
+        if (callbackContext instanceof TrackedCallbackContext) {
+            return ((TrackedCallbackContext) callbackContext).cancellation.getToken();
+        }
+        return null;
+    }
+
+    /** Wraps {@code callbackContext} and starts its deadline, if it has one. */
+    @NonNull
+    CallbackContext track(@NonNull Control control, @NonNull CallbackContext callbackContext, @NonNull CordovaWebView webView) {
+        final TrackedCallbackContext tracked = new TrackedCallbackContext(control, callbackContext, webView);
+        if (control.callId != null) {
+            TrackedCallbackContext previous;
+            synchronized (this) {
+                previous = calls.put(control.callId, tracked);
+            }
+            // Reusing an id abandons the older call, which is what a caller navigating back and forth wants.
+            if (previous != null) {
+                previous.abandon(REASON_CANCELLED);
+            }
+        }
+        if (control.timeoutMillis > 0) {
+            tracked.timeout = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    tracked.abandon(REASON_TIMEOUT);
+                }
+            }, control.timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return tracked;
+    }
+
+    /** Abandons the pending call with {@code callId}; returns whether there was one. */
+    boolean cancel(@NonNull String callId) {
+        TrackedCallbackContext tracked;
+        synchronized (this) {
+            tracked = calls.get(callId);
+        }
+        return tracked != null && tracked.abandon(REASON_CANCELLED);
+    }
+
+    /** Abandons every pending call, e.g. when the plugin is torn down. */
+    void cancelAll() {
+        TrackedCallbackContext[] pending;
+        synchronized (this) {
+            pending = calls.values().toArray(new TrackedCallbackContext[0]);
+        }
+        for (TrackedCallbackContext tracked : pending) {
+            tracked.abandon(REASON_CANCELLED);
+        }
+    }
+
+    private synchronized void forget(TrackedCallbackContext tracked) {
+        if (tracked.control.callId != null && calls.get(tracked.control.callId) == tracked) {
+            calls.remove(tracked.control.callId);
+        }
+    }
+
+    private final class TrackedCallbackContext extends CallbackContext {
+        final Control control;
+        final CallbackContext delegate;
+        final CancellationTokenSource cancellation = new CancellationTokenSource();
+        volatile ScheduledFuture<?> timeout;
+        private boolean done = false;
+
+        TrackedCallbackContext(Control control, CallbackContext delegate, CordovaWebView webView) {
+            super(delegate.getCallbackId(), webView);
+            this.control = control;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            if (pluginResult.getKeepCallback()) {
+                synchronized (this) {
+                    if (done) {
+                        return;
+                    }
+                }
+            } else if (!settle()) {
+                return;
+            }
+            delegate.sendPluginResult(pluginResult);
+        }
+
+        /** Completes the call with a timeout or cancellation error unless it has already finished. */
+        boolean abandon(String reason) {
+            if (!settle()) {
+                return false;
+            }
+            cancellation.cancel();
+            try {
+                JSONObject error = new JSONObject();
+                error.put("message", REASON_TIMEOUT.equals(reason)
+                        ? "Call did not complete within " + control.timeoutMillis + " ms."
+                        : "Call was cancelled.");
+                error.put("reason", reason);
+                if (control.callId != null) error.put("callId", control.callId);
+                if (REASON_TIMEOUT.equals(reason)) error.put("timeoutMillis", control.timeoutMillis);
+                delegate.error(error);
+            } catch (JSONException e) {
+                delegate.error(reason);
+            }
+            return true;
+        }
+
+        /** Marks the call finished; returns {@code false} if it already was. */
+        private boolean settle() {
+            synchronized (this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+            }
+            ScheduledFuture<?> pending = timeout;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            forget(this);
+            return true;
+        }
+    }
+}
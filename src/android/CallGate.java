@@ -0,0 +1,595 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.common.ConnectionResult;
+import com.google.android.gms.common.api.Releasable;
+import com.google.android.gms.games.AnnotatedData;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.OnCompleteListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs Play Games Tasks through a per-family token bucket and circuit breaker, retrying transient
+ * failures with jittered exponential backoff.
+ *
+ * Calls are passed as a {@link Call} factory rather than a started Task so a retry can start a fresh
+ * one. Only idempotent reads should use {@link #call}; writes go through {@link #callOnce}, which
+ * still honours the limiter and breaker but never repeats the request. Retries take a token like any
+ * other attempt. Reads are held back while the gate is suspended, except those started with
+ * {@link #callUnparked}, which other work is waiting behind.
+ *
+ * While Play Services is reported unavailable (see {@link #setServicesStatus}), reads fail at once with
+ * {@link ServicesUnavailableException} instead of waiting for it to return; writes still go out.
+ *
+ * A call may carry a {@link CancellationToken}: cancelling it cancels the returned Task, skips any
+ * attempt that has not started yet and releases the DataBuffer of a result that arrives too late.
+ */
+final class CallGate {
+
+    enum Family {
+        SIGN_IN("signIn", new RetryPolicy(2, 500, 2000, 5, 30 * 1000), 1, 0),
+        ACHIEVEMENTS("achievements", new RetryPolicy(3, 250, 4000, 5, 30 * 1000), 10, 2),
+        LEADERBOARDS("leaderboards", new RetryPolicy(3, 250, 4000, 5, 30 * 1000), 10, 2),
+        SNAPSHOTS("snapshots", new RetryPolicy(3, 500, 8000, 5, 30 * 1000), 5, 1),
+        EVENTS("events", new RetryPolicy(3, 250, 4000, 5, 30 * 1000), 10, 2),
+        PLAYERS("players", new RetryPolicy(3, 250, 4000, 5, 30 * 1000), 20, 5);
+
+        final String jsonName;
+        final RetryPolicy policy;
+        final int bucketCapacity;
+        final double refillPerSecond;
+
+        Family(String jsonName, RetryPolicy policy, int bucketCapacity, double refillPerSecond) {
+            this.jsonName = jsonName;
+            this.policy = policy;
+            this.bucketCapacity = bucketCapacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        @Nullable
+        static Family fromName(@Nullable String name) {
+            for (Family family : values()) {
+                if (family.jsonName.equals(name)) {
+                    return family;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** What a call does when its family's bucket is empty. */
+    enum Mode {
+        /** Wait for a token. */
+        QUEUE("queue"),
+        /** Fail at once with {@link RateLimitedException}. */
+        SHED("shed"),
+        /** Share the result of an identical pending read (see {@link CallCoalescer}); otherwise queue. */
+        COALESCE("coalesce");
+
+        final String jsonName;
+
+        Mode(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        @Nullable
+        static Mode fromName(@Nullable String name) {
+            for (Mode mode : values()) {
+                if (mode.jsonName.equals(name)) {
+                    return mode;
+                }
+            }
+            return null;
+        }
+    }
+
+    interface Call<T> {
+        @NonNull
+        Task<T> start();
+    }
+
+    interface Listener {
+        void onBreakerStateChanged(@NonNull Family family, @NonNull CircuitBreaker.State state);
+    }
+
+    /** Raised without contacting the service while a family's breaker is open. */
+    static final class CircuitOpenException extends Exception {
+        final Family family;
+        final long retryAfterMillis;
+
+        CircuitOpenException(Family family, long retryAfterMillis) {
+            super("Calls to " + family.jsonName + " are suspended after repeated failures; retry in " + retryAfterMillis + " ms.");
+            this.family = family;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+
+    /** Raised without contacting the service when a family in shed mode has no token left. */
+    static final class RateLimitedException extends Exception {
+        final Family family;
+        final long retryAfterMillis;
+
+        RateLimitedException(Family family, long retryAfterMillis) {
+            super("Too many " + family.jsonName + " calls; retry in " + retryAfterMillis + " ms.");
+            this.family = family;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+
+    /** Raised without contacting the service for a read while Play Services is unavailable. */
+    static final class ServicesUnavailableException extends Exception {
+        final Family family;
+        final int status;
+
+        ServicesUnavailableException(Family family, int status) {
+            super("Google Play Services is unavailable (status " + status + "); " + family.jsonName + " cannot be loaded.");
+            this.family = family;
+            this.status = status;
+        }
+    }
+
+    private static final class Lane {
+        final Family family;
+        final CircuitBreaker breaker;
+        final TokenBucket bucket;
+        volatile Mode mode = Mode.QUEUE;
+        long calls;
+        long retries;
+        long failures;
+        long rejected;
+        long waits;
+        long waitedMillis;
+        long shed;
+        long coalesced;
+
+        Lane(Family family) {
+            this.family = family;
+            this.breaker = new CircuitBreaker(family.policy.failureThreshold, family.policy.openMillis);
+            this.bucket = new TokenBucket(family.bucketCapacity, family.refillPerSecond);
+        }
+    }
+
+    private final Map<Family, Lane> lanes = new EnumMap<>(Family.class);
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final Random random = new Random();
+    private final Set<Deferred> deferred = new HashSet<>();
+    private final List<Runnable> parked = new ArrayList<>();
+    private boolean suspended = false;
+    private boolean shutdown = false;
+    private volatile int servicesStatus = ConnectionResult.SUCCESS;
+    @Nullable
+    private volatile Listener listener;
+
+    CallGate(@NonNull Executor executor, @NonNull ScheduledExecutorService scheduler) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+        for (Family family : Family.values()) {
+            lanes.put(family, new Lane(family));
+        }
+    }
+
+    void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    /** The last known {@link ConnectionResult} status of Play Services; reads fail fast unless it is SUCCESS. */
+    void setServicesStatus(int status) {
+        servicesStatus = status;
+    }
+
+    /** Changes a family's bucket and limiter mode; {@code null} values keep the current setting. */
+    void configure(@NonNull Family family, @Nullable Integer capacity, @Nullable Double refillPerSecond, @Nullable Mode mode) {
+        Lane lane = lanes.get(family);
+        if (capacity != null || refillPerSecond != null) {
+            lane.bucket.configure(capacity != null ? capacity : lane.bucket.getCapacity(),
+                    refillPerSecond != null ? refillPerSecond : lane.bucket.getRefillPerSecond());
+        }
+        if (mode != null) {
+            lane.mode = mode;
+        }
+    }
+
+    @NonNull
+    Mode getMode(@NonNull Family family) {
+        return lanes.get(family).mode;
+    }
+
+    /** Counts a call that was answered by an identical pending one instead of reaching the gate. */
+    void recordCoalesced(@NonNull Family family) {
+        Lane lane = lanes.get(family);
+        synchronized (lane) {
+            lane.coalesced++;
+        }
+    }
+
+    /** Runs an idempotent call, retrying transient failures up to the family's attempt limit. */
+    @NonNull
+    <T> Task<T> call(@NonNull Family family, @NonNull Call<T> call) {
+        return submit(family, null, call, family.policy.maxAttempts, true, false);
+    }
+
+    @NonNull
+    <T> Task<T> call(@NonNull Family family, @Nullable CancellationToken token, @NonNull Call<T> call) {
+        return submit(family, token, call, family.policy.maxAttempts, true, false);
+    }
+
+    /** Like {@link #call}, but keeps going while suspended, for reads that writes are queued behind. */
+    @NonNull
+    <T> Task<T> callUnparked(@NonNull Family family, @NonNull Call<T> call) {
+        return submit(family, null, call, family.policy.maxAttempts, false, false);
+    }
+
+    /** Runs a call at most once; only the breaker applies. */
+    @NonNull
+    <T> Task<T> callOnce(@NonNull Family family, @NonNull Call<T> call) {
+        return submit(family, null, call, 1, false, false);
+    }
+
+    @NonNull
+    <T> Task<T> callOnce(@NonNull Family family, @Nullable CancellationToken token, @NonNull Call<T> call) {
+        return submit(family, token, call, 1, false, false);
+    }
+
+    /**
+     * Runs the closing step of a transaction whose opening call already went through the gate, such as
+     * the commit of an opened snapshot. It goes out once, takes no token and passes an open breaker,
+     * since turning it away would leave the opened resource dangling; its outcome still counts towards
+     * the breaker.
+     */
+    @NonNull
+    <T> Task<T> callInTransaction(@NonNull Family family, @NonNull Call<T> call) {
+        return submit(family, null, call, 1, false, true);
+    }
+
+    private <T> Task<T> submit(Family family, @Nullable CancellationToken token, Call<T> call, int maxAttempts,
+                               boolean parkable, boolean admitted) {
+        Lane lane = lanes.get(family);
+        synchronized (lane) {
+            lane.calls++;
+        }
+        TaskCompletionSource<T> source = token != null ? new TaskCompletionSource<T>(token) : new TaskCompletionSource<T>();
+        attempt(new Request<>(lane, call, maxAttempts, parkable, admitted, source), 1, null);
+        return source.getTask();
+    }
+
+    /**
+     * One gated call across all of its attempts. Only parkable calls wait for {@link #resume}; admitted
+     * calls belong to a transaction that is already under way and skip the limiter and breaker.
+     */
+    private static final class Request<T> {
+        final Lane lane;
+        final Call<T> call;
+        final int maxAttempts;
+        final boolean parkable;
+        final boolean admitted;
+        final TaskCompletionSource<T> source;
+
+        Request(Lane lane, Call<T> call, int maxAttempts, boolean parkable, boolean admitted, TaskCompletionSource<T> source) {
+            this.lane = lane;
+            this.call = call;
+            this.maxAttempts = maxAttempts;
+            this.parkable = parkable;
+            this.admitted = admitted;
+            this.source = source;
+        }
+
+        /** Reads retry; writes and the closing steps of transactions go out once. */
+        boolean isRead() {
+            return maxAttempts > 1;
+        }
+
+        boolean isDone() {
+            return source.getTask().isComplete();
+        }
+    }
+
+    private <T> void attempt(final Request<T> request, final int attempt, @Nullable final Exception previous) {
+        if (request.isDone()) {
+            return;
+        }
+        int status = servicesStatus;
+        if (request.isRead() && status != ConnectionResult.SUCCESS) {
+            request.source.trySetException(previous != null ? previous : new ServicesUnavailableException(request.lane.family, status));
+            return;
+        }
+        if (request.parkable && park(new Runnable() {
+            @Override
+            public void run() {
+                attempt(request, attempt, previous);
+            }
+        })) {
+            return;
+        }
+        if (request.admitted) {
+            // Its transaction already took a token when it opened.
+            dispatch(request, attempt, previous);
+            return;
+        }
+
+        Lane lane = request.lane;
+        if (lane.mode == Mode.SHED) {
+            long retryAfter = lane.bucket.tryAcquire();
+            if (retryAfter > 0) {
+                synchronized (lane) {
+                    lane.shed++;
+                }
+                request.source.trySetException(previous != null ? previous : new RateLimitedException(lane.family, retryAfter));
+                return;
+            }
+        } else {
+            long wait = lane.bucket.reserve();
+            if (wait > 0) {
+                synchronized (lane) {
+                    lane.waits++;
+                    lane.waitedMillis += wait;
+                }
+                defer(new Runnable() {
+                    @Override
+                    public void run() {
+                        dispatch(request, attempt, previous);
+                    }
+                }, !request.parkable, wait);
+                return;
+            }
+        }
+        dispatch(request, attempt, previous);
+    }
+
+    private <T> void dispatch(final Request<T> request, final int attempt, @Nullable final Exception previous) {
+        if (request.isDone()) {
+            return;
+        }
+        final Lane lane = request.lane;
+        final TaskCompletionSource<T> source = request.source;
+        long retryAfter = request.admitted ? 0 : lane.breaker.tryAcquire();
+        if (retryAfter > 0) {
+            synchronized (lane) {
+                lane.rejected++;
+            }
+            // A retry that runs into a breaker opened meanwhile reports the failure it was retrying.
+            source.trySetException(previous != null ? previous : new CircuitOpenException(lane.family, retryAfter));
+            return;
+        }
+
+        Task<T> task;
+        try {
+            task = request.call.start();
+        } catch (RuntimeException e) {
+            finish(lane, e, false);
+            source.trySetException(e);
+            return;
+        }
+
+        task.addOnCompleteListener(executor, new OnCompleteListener<T>() {
+            @Override
+            public void onComplete(@NonNull Task<T> task) {
+                if (task.isSuccessful()) {
+                    finish(lane, null, false);
+                    if (!source.trySetResult(task.getResult())) {
+                        releaseLateResult(task.getResult());
+                    }
+                    return;
+                }
+                Exception e = task.getException() != null ? task.getException() : new CancellationException("Task was cancelled.");
+                boolean retryable = RetryPolicy.isRetryable(e);
+                finish(lane, e, retryable);
+                if (!retryable || attempt >= request.maxAttempts || request.isDone()) {
+                    source.trySetException(e);
+                    return;
+                }
+
+                synchronized (lane) {
+                    lane.retries++;
+                }
+                final Exception failure = e;
+                defer(new Runnable() {
+                    @Override
+                    public void run() {
+                        attempt(request, attempt + 1, failure);
+                    }
+                }, !request.parkable, lane.family.policy.backoffMillis(attempt, random));
+            }
+        });
+    }
+
+    /**
+     * Holds back reads while the app is in the background. Writes and unparked reads waiting for a token
+     * or a retry are flushed at once so nothing is lost if the process is killed; other reads are parked
+     * and replayed on {@link #resume()}. After {@link #shutdown()} nothing runs any more.
+     */
+    void suspend() {
+        List<Runnable> flush = new ArrayList<>();
+        synchronized (this) {
+            suspended = true;
+            Iterator<Deferred> iterator = deferred.iterator();
+            while (iterator.hasNext()) {
+                Deferred pending = iterator.next();
+                if (pending.urgent && pending.future.cancel(false)) {
+                    iterator.remove();
+                    flush.add(pending.work);
+                }
+            }
+        }
+        for (Runnable work : flush) {
+            executor.execute(work);
+        }
+    }
+
+    void resume() {
+        List<Runnable> replay;
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            suspended = false;
+            replay = new ArrayList<>(parked);
+            parked.clear();
+        }
+        for (Runnable work : replay) {
+            executor.execute(work);
+        }
+    }
+
+    /** Drops parked and scheduled attempts; their Tasks never complete. */
+    void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            suspended = true;
+            for (Deferred pending : deferred) {
+                pending.future.cancel(false);
+            }
+            deferred.clear();
+            parked.clear();
+        }
+    }
+
+    private synchronized boolean park(Runnable work) {
+        if (!suspended) {
+            return false;
+        }
+        if (!shutdown) {
+            parked.add(work);
+        }
+        return true;
+    }
+
+    private void defer(Runnable work, boolean urgent, long delayMillis) {
+        Deferred pending = new Deferred(work, urgent);
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            deferred.add(pending);
+            pending.future = scheduler.schedule(pending, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private final class Deferred implements Runnable {
+        final Runnable work;
+        final boolean urgent;
+        ScheduledFuture<?> future;
+
+        Deferred(Runnable work, boolean urgent) {
+            this.work = work;
+            this.urgent = urgent;
+        }
+
+        @Override
+        public void run() {
+            synchronized (CallGate.this) {
+                if (!deferred.remove(this)) {
+                    return;
+                }
+                if (suspended && !urgent) {
+                    if (!shutdown) {
+                        parked.add(work);
+                    }
+                    return;
+                }
+            }
+            work.run();
+        }
+    }
+
+    private static void releaseLateResult(@Nullable Object result) {
+        if (result instanceof AnnotatedData) {
+            result = ((AnnotatedData<?>) result).get();
+        }
+        if (result instanceof Releasable) {
+            ((Releasable) result).release();
+        }
+    }
+
+    private void finish(Lane lane, @Nullable Exception e, boolean transientFailure) {
+        CircuitBreaker.State before = lane.breaker.getState();
+        if (transientFailure) {
+            lane.breaker.onTransientFailure();
+        } else {
+            lane.breaker.onSuccess();
+        }
+        if (e != null) {
+            synchronized (lane) {
+                lane.failures++;
+            }
+        }
+        CircuitBreaker.State after = lane.breaker.getState();
+        Listener current = listener;
+        if (before != after && current != null) {
+            current.onBreakerStateChanged(lane.family, after);
+        }
+    }
+
+    /**
+     * {@code {<family>: {state, consecutiveFailures, retryAfterMillis, calls, retries, failures, rejected,
+     * limiter: {mode, capacity, refillPerSecond, tokens, waits, waitedMillis, shed, coalesced}}}}
+     */
+    @NonNull
+    JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        for (Lane lane : lanes.values()) {
+            JSONObject stats = new JSONObject();
+            stats.put("state", lane.breaker.getState().jsonName);
+            stats.put("consecutiveFailures", lane.breaker.getConsecutiveFailures());
+            stats.put("retryAfterMillis", lane.breaker.getRetryAfterMillis());
+            synchronized (lane) {
+                stats.put("calls", lane.calls);
+                stats.put("retries", lane.retries);
+                stats.put("failures", lane.failures);
+                stats.put("rejected", lane.rejected);
+            }
+            JSONObject limiter = new JSONObject();
+            limiter.put("mode", lane.mode.jsonName);
+            limiter.put("capacity", lane.bucket.getCapacity());
+            limiter.put("refillPerSecond", lane.bucket.getRefillPerSecond());
+            limiter.put("tokens", Math.floor(lane.bucket.getTokens()));
+            synchronized (lane) {
+                limiter.put("waits", lane.waits);
+                limiter.put("waitedMillis", lane.waitedMillis);
+                limiter.put("shed", lane.shed);
+                limiter.put("coalesced", lane.coalesced);
+            }
+            stats.put("limiter", limiter);
+            json.put(lane.family.jsonName, stats);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.common.api.Releasable;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+/**
+ * Streams list results to JS in fixed-size chunks, so at most one chunk of converted records is held
+ * in memory however large the DataBuffer behind them is.
+ *
+ * Every chunk but the last is sent as a keep-callback result {@code {chunk, offset, meta?}}; the last
+ * one also carries {@code done: true}, the total {@code count} and, for results that are objects
+ * rather than arrays, the {@code key} under which the records belong. {@code meta} travels with the
+ * first chunk only. The owning buffer is released whether or not conversion succeeds.
+ */
+final class ChunkedResults {
+
+    static final String OPTION_CHUNK_SIZE = "chunkSize";
+    static final int DEFAULT_CHUNK_SIZE = 50;
+
+    interface Converter<T> {
+        @Nullable
+        Object convert(@NonNull T record) throws JSONException;
+    }
+
+    private ChunkedResults() {
+    }
+
+    static int chunkSize(@Nullable JSONObject options) {
+        int size = options != null ? options.optInt(OPTION_CHUNK_SIZE, DEFAULT_CHUNK_SIZE) : DEFAULT_CHUNK_SIZE;
+        return size > 0 ? size : DEFAULT_CHUNK_SIZE;
+    }
+
+    /** Releases {@code resource} if there is one. */
+    static void release(@Nullable Releasable resource) {
+        if (resource != null) {
+            resource.release();
+        }
+    }
+
+    /**
+     * Converts and sends {@code records}, then releases {@code owner} (the buffer the records come from,
+     * or {@code null} for records that are already frozen).
+     */
+    static <T> void send(@NonNull Iterable<T> records, @Nullable Releasable owner, int chunkSize,
+                         @Nullable JSONObject meta, @Nullable String key,
+                         @NonNull Converter<T> converter, @NonNull CallbackContext callbackContext) throws JSONException {
+        try {
+            Iterator<T> iterator = records.iterator();
+            JSONArray chunk = new JSONArray();
+            int offset = 0;
+            int count = 0;
+            while (iterator.hasNext()) {
+                chunk.put(converter.convert(iterator.next()));
+                count++;
+                if (chunk.length() == chunkSize && iterator.hasNext()) {
+                    PluginResult result = new PluginResult(PluginResult.Status.OK, message(chunk, offset, offset == 0 ? meta : null));
+                    result.setKeepCallback(true);
+                    callbackContext.sendPluginResult(result);
+                    offset = count;
+                    chunk = new JSONArray();
+                }
+            }
+
+            JSONObject last = message(chunk, offset, offset == 0 ? meta : null);
+            last.put("done", true);
+            last.put("count", count);
+            if (key != null) {
+                last.put("key", key);
+            }
+            callbackContext.success(last);
+        } finally {
+            release(owner);
+        }
+    }
+
+    /**
+     * Sends one chunk of a list that arrives in pages instead of from one buffer. The last chunk carries
+     * {@code done} and the total {@code count}; it may be empty when the end only shows after a page.
+     */
+    static void sendChunk(@NonNull JSONArray chunk, int offset, boolean last, @NonNull CallbackContext callbackContext) throws JSONException {
+        JSONObject message = message(chunk, offset, null);
+        if (last) {
+            message.put("done", true);
+            message.put("count", offset + chunk.length());
+            callbackContext.success(message);
+            return;
+        }
+        PluginResult result = new PluginResult(PluginResult.Status.OK, message);
+        result.setKeepCallback(true);
+        callbackContext.sendPluginResult(result);
+    }
+
+    private static JSONObject message(JSONArray chunk, int offset, @Nullable JSONObject meta) throws JSONException {
+        JSONObject message = new JSONObject();
+        message.put("chunk", chunk);
+        message.put("offset", offset);
+        if (meta != null) {
+            message.put("meta", meta);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Classic three-state breaker. {@link #failureThreshold} consecutive transient failures open it; while
+ * open every call is rejected until {@link #openMillis} have passed, after which one probe call is let
+ * through (half-open). The probe's outcome closes the breaker or opens it again.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED("closed"),
+        OPEN("open"),
+        HALF_OPEN("halfOpen");
+
+        final String jsonName;
+
+        State(String jsonName) {
+            this.jsonName = jsonName;
+        }
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean probeInFlight = false;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Asks to start a call. Returns 0 when it may proceed, otherwise the number of milliseconds until
+     * the breaker will let a probe through.
+     */
+    synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            long remaining = openedAt + openMillis - SystemClock.elapsedRealtime();
+            if (remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return Math.max(1, openMillis / 10);
+            }
+            probeInFlight = true;
+        }
+        return 0;
+    }
+
+    /** The call reached the service; permanent errors count as a success here. */
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    synchronized void onTransientFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    /** The current state, reporting an open breaker whose wait has elapsed as half-open. */
+    @NonNull
+    synchronized State getState() {
+        if (state == State.OPEN && SystemClock.elapsedRealtime() - openedAt >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /** Milliseconds until an open breaker admits a probe; 0 when it is not open. */
+    synchronized long getRetryAfterMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openedAt + openMillis - SystemClock.elapsedRealtime());
+    }
+}
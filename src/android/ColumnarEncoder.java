@@ -0,0 +1,221 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes list results column by column into a single binary payload.
+ *
+ * Layout (offsets from the start of the buffer):
+ * <pre>
+ *   uint32 (little endian)  header length N
+ *   N bytes                 UTF-8 JSON header: { count, meta, columns: [...] }
+ *   padding                 up to the next 8 byte boundary
+ *   column data             one block per numeric column, each 8 byte aligned
+ * </pre>
+ * String columns are stored inline in the header as {@code values}. Numeric columns carry an
+ * {@code offset} relative to the start of the column data and are written in the platform byte
+ * order, so the JavaScript side can wrap them in an {@code Int32Array} or {@code Float64Array}
+ * without copying.
+ * Longs are stored as float64, which is exact for every value Play Games returns (below 2^53).
+ */
+final class ColumnarEncoder {
+
+    static final String FORMAT_COLUMNAR = "columnar";
+
+    private static final String OPTION_FORMAT = "format";
+
+    private enum Type {
+        STRING("string", 0),
+        INT32("int32", 4),
+        FLOAT64("float64", 8);
+
+        final String jsName;
+        final int width;
+
+        Type(String jsName, int width) {
+            this.jsName = jsName;
+            this.width = width;
+        }
+    }
+
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final JSONObject meta = new JSONObject();
+    private final int capacity;
+    private int rowCount = 0;
+
+    ColumnarEncoder(int capacity) {
+        this.capacity = Math.max(capacity, 8);
+    }
+
+    static boolean isRequested(@Nullable JSONObject options) {
+        return options != null && FORMAT_COLUMNAR.equals(options.optString(OPTION_FORMAT, null));
+    }
+
+    void putString(String name, @Nullable String value) {
+        column(name, Type.STRING).addString(value, rowCount);
+    }
+
+    void putInt(String name, int value) {
+        column(name, Type.INT32).addNumber(value, rowCount);
+    }
+
+    void putLong(String name, long value) {
+        column(name, Type.FLOAT64).addNumber(value, rowCount);
+    }
+
+    void endRow() {
+        rowCount++;
+    }
+
+    void putMeta(String key, @Nullable Object value) throws JSONException {
+        meta.put(key, value != null ? value : JSONObject.NULL);
+    }
+
+    @NonNull
+    byte[] encode() throws JSONException {
+        JSONArray columnHeaders = new JSONArray();
+        int dataOffset = 0;
+        List<Column> numeric = new ArrayList<>();
+
+        for (Column column : columns.values()) {
+            column.pad(rowCount);
+            JSONObject header = new JSONObject();
+            header.put("name", column.name);
+            header.put("type", column.type.jsName);
+            if (column.type == Type.STRING) {
+                JSONArray values = new JSONArray();
+                for (int i = 0; i < rowCount; i++) {
+                    String value = column.strings.get(i);
+                    values.put(value != null ? value : JSONObject.NULL);
+                }
+                header.put("values", values);
+            } else {
+                header.put("offset", dataOffset);
+                dataOffset += align8(rowCount * column.type.width);
+                numeric.add(column);
+            }
+            columnHeaders.put(header);
+        }
+
+        JSONObject header = new JSONObject();
+        header.put("count", rowCount);
+        header.put("meta", meta);
+        header.put("columns", columnHeaders);
+
+        byte[] headerBytes = header.toString().getBytes(StandardCharsets.UTF_8);
+        int dataStart = align8(4 + headerBytes.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(dataStart + dataOffset);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(headerBytes.length);
+        buffer.put(headerBytes);
+
+        buffer.order(ByteOrder.nativeOrder());
+        int position = dataStart;
+        for (Column column : numeric) {
+            buffer.position(position);
+            if (column.type == Type.INT32) {
+                for (int i = 0; i < rowCount; i++) {
+                    buffer.putInt((int) column.numbers[i]);
+                }
+            } else {
+                for (int i = 0; i < rowCount; i++) {
+                    buffer.putDouble(column.numbers[i]);
+                }
+            }
+            position += align8(rowCount * column.type.width);
+        }
+        return buffer.array();
+    }
+
+    private Column column(String name, Type type) {
+        Column column = columns.get(name);
+        if (column == null) {
+            column = new Column(name, type, capacity);
+            columns.put(name, column);
+        }
+        return column;
+    }
+
+    private static int align8(int value) {
+        return (value + 7) & ~7;
+    }
+
+    private static final class Column {
+        final String name;
+        final Type type;
+        final List<String> strings;
+        double[] numbers;
+        int size = 0;
+
+        Column(String name, Type type, int capacity) {
+            this.name = name;
+            this.type = type;
+            this.strings = type == Type.STRING ? new ArrayList<String>(capacity) : null;
+            this.numbers = type == Type.STRING ? null : new double[capacity];
+        }
+
+        void addString(@Nullable String value, int row) {
+            pad(row);
+            strings.add(value);
+            size++;
+        }
+
+        void addNumber(double value, int row) {
+            pad(row);
+            ensureCapacity(size + 1);
+            numbers[size++] = value;
+        }
+
+        /** Fills rows that never received a value, e.g. a missing score holder, with null or 0. */
+        void pad(int rows) {
+            while (size < rows) {
+                if (type == Type.STRING) {
+                    strings.add(null);
+                } else {
+                    ensureCapacity(size + 1);
+                    numbers[size] = 0;
+                }
+                size++;
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > numbers.length) {
+                numbers = Arrays.copyOf(numbers, Math.max(required, numbers.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Turns a screenshot into a snapshot cover image off the UI thread.
+ *
+ * The source is a file path, a {@code file://} or {@code content://} URI, or raw bytes from JS. It is
+ * decoded with {@code inSampleSize} so the first bitmap stays small, then scaled until it fits the
+ * cover limit and held as RGB_565, which halves its size; covers are opaque screenshots. Decodes share
+ * a {@link #DECODE_BUDGET_BYTES} memory budget: a decode waits until its source bytes and bitmap fit.
+ */
+final class CoverImages {
+
+    /** The cover size Play Games guarantees to accept ({@code SnapshotsClient.getMaxCoverImageSize()}). */
+    static final int MAX_COVER_BYTES = 800 * 1024;
+
+    private static final int DECODE_BUDGET_BYTES = 24 * 1024 * 1024;
+    private static final int MAX_SOURCE_BYTES = 16 * 1024 * 1024;
+    private static final int BYTES_PER_PIXEL = 2;
+
+    private final Context context;
+    private final Executor executor;
+    // One permit per KB of the decode budget.
+    private final Semaphore budget = new Semaphore(DECODE_BUDGET_BYTES / 1024);
+
+    CoverImages(@NonNull Context context, @NonNull Executor executor) {
+        this.context = context;
+        this.executor = executor;
+    }
+
+    /** Decodes and downscales {@code path} or {@code bytes}, whichever is given, into a cover bitmap. */
+    Task<Bitmap> prepare(@Nullable final String path, @Nullable final byte[] bytes) {
+        return Tasks.call(executor, new Callable<Bitmap>() {
+            @Override
+            public Bitmap call() throws Exception {
+                byte[] source = bytes != null ? bytes : ImagePipeline.readFully(open(path), MAX_SOURCE_BYTES);
+                return decode(source);
+            }
+        });
+    }
+
+    private InputStream open(@Nullable String path) throws IOException {
+        if (path == null || path.isEmpty()) {
+            throw new IOException("No cover image given.");
+        }
+        Uri uri = Uri.parse(path);
+        if (uri.getScheme() == null) {
+            return new FileInputStream(new File(path));
+        }
+        InputStream stream = context.getContentResolver().openInputStream(uri);
+        if (stream == null) {
+            throw new IOException("Unable to open cover image: " + path);
+        }
+        return stream;
+    }
+
+    private Bitmap decode(byte[] source) throws IOException, InterruptedException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(source, 0, source.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Unsupported cover image.");
+        }
+
+        // Sample down until the decoded bitmap is no more than four times the cover limit.
+        int sample = 1;
+        while ((long) (options.outWidth / sample) * (options.outHeight / sample) * BYTES_PER_PIXEL > 4L * MAX_COVER_BYTES) {
+            sample *= 2;
+        }
+        long decodedBytes = (long) (options.outWidth / sample) * (options.outHeight / sample) * BYTES_PER_PIXEL;
+        int permits = (int) Math.min(DECODE_BUDGET_BYTES / 1024, (source.length + decodedBytes) / 1024 + 1);
+        budget.acquire(permits);
+        try {
+            options.inJustDecodeBounds = false;
+            options.inSampleSize = sample;
+            options.inPreferredConfig = Bitmap.Config.RGB_565;
+            Bitmap bitmap = BitmapFactory.decodeByteArray(source, 0, source.length, options);
+            if (bitmap == null) {
+                throw new IOException("Unable to decode cover image.");
+            }
+            long pixels = (long) bitmap.getWidth() * bitmap.getHeight();
+            if (pixels * BYTES_PER_PIXEL <= MAX_COVER_BYTES) {
+                return bitmap;
+            }
+            // inSampleSize only halves; finish with a filtered scale to the largest size that fits.
+            double scale = Math.sqrt((double) MAX_COVER_BYTES / BYTES_PER_PIXEL / pixels);
+            Bitmap scaled = Bitmap.createScaledBitmap(bitmap,
+                    Math.max(1, (int) (bitmap.getWidth() * scale)),
+                    Math.max(1, (int) (bitmap.getHeight() * scale)), true);
+            if (scaled != bitmap) {
+                bitmap.recycle();
+            }
+            return scaled;
+        } finally {
+            budget.release(permits);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Versioned change tracking for one dataset (achievements or events).
+ *
+ * The tracker keeps a signature per record from the last load. Every load that changes at least one
+ * signature bumps the dataset version and stamps the changed records with it, so a caller holding an
+ * older version token only receives the records that changed after it. Tokens have the form
+ * {@code "<epoch>:<version>"}; a token from another process (or garbage) falls back to a full sync.
+ */
+final class DeltaTracker {
+
+    static final String OPTION_SINCE_VERSION = "sinceVersion";
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Long> removed = new HashMap<>();
+    private long version = 0;
+
+    private static final class Entry {
+        final String signature;
+        final long version;
+
+        Entry(String signature, long version) {
+            this.signature = signature;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Whether the action options ask for a delta response. {@code sinceVersion: null} requests the
+     * initial full sync together with a token.
+     */
+    static boolean isRequested(@Nullable JSONObject options) {
+        return options != null && options.has(OPTION_SINCE_VERSION);
+    }
+
+    @NonNull
+    Sync begin(@Nullable JSONObject options) {
+        String token = options != null ? options.optString(OPTION_SINCE_VERSION, null) : null;
+        return new Sync(parseSince(token));
+    }
+
+    private long parseSince(@Nullable String token) {
+        if (token == null) {
+            return -1;
+        }
+        int separator = token.indexOf(':');
+        if (separator < 0 || !epoch.equals(token.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            long since = Long.parseLong(token.substring(separator + 1));
+            synchronized (this) {
+                return since <= version ? since : -1;
+            }
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** One load of the dataset. Observe every record, commit, then ask which ones to send. */
+    final class Sync {
+        private final long since;
+        private final Map<String, String> observed = new LinkedHashMap<>();
+        private Map<String, Long> committed;
+        private List<String> removedIds;
+        private long committedVersion;
+
+        private Sync(long since) {
+            this.since = since;
+        }
+
+        void observe(String id, String signature) {
+            observed.put(id, signature);
+        }
+
+        void commit() {
+            synchronized (DeltaTracker.this) {
+                long next = version + 1;
+                boolean changed = false;
+
+                for (Map.Entry<String, String> record : observed.entrySet()) {
+                    Entry previous = entries.get(record.getKey());
+                    if (previous == null || !previous.signature.equals(record.getValue())) {
+                        entries.put(record.getKey(), new Entry(record.getValue(), next));
+                        removed.remove(record.getKey());
+                        changed = true;
+                    }
+                }
+                Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Entry> entry = iterator.next();
+                    if (!observed.containsKey(entry.getKey())) {
+                        iterator.remove();
+                        removed.put(entry.getKey(), next);
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    version = next;
+                }
+
+                committedVersion = version;
+                committed = new HashMap<>();
+                for (String id : observed.keySet()) {
+                    committed.put(id, entries.get(id).version);
+                }
+                removedIds = new ArrayList<>();
+                if (since >= 0) {
+                    for (Map.Entry<String, Long> entry : removed.entrySet()) {
+                        if (entry.getValue() > since) {
+                            removedIds.add(entry.getKey());
+                        }
+                    }
+                }
+            }
+        }
+
+        boolean isFull() {
+            return since < 0;
+        }
+
+        boolean shouldSend(String id) {
+            if (since < 0) {
+                return true;
+            }
+            Long changedAt = committed.get(id);
+            return changedAt != null && changedAt > since;
+        }
+
+        /** Builds {@code {version, changes, removed?, full?}}; the two optional keys are omitted when empty. */
+        @NonNull
+        JSONObject toJson(@NonNull JSONArray changes) throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("version", epoch + ":" + committedVersion);
+            json.put("changes", changes);
+            if (!removedIds.isEmpty()) {
+                JSONArray ids = new JSONArray();
+                for (String id : removedIds) {
+                    ids.put(id);
+                }
+                json.put("removed", ids);
+            }
+            if (isFull()) {
+                json.put("full", true);
+            }
+            return json;
+        }
+    }
+}
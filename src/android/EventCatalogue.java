@@ -0,0 +1,185 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.games.event.Event;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the game's events, filled by a single {@code EventsClient.load}.
+ *
+ * {@code EventsClient.increment} is buffered by Play Games and not reflected in loaded values until it
+ * has been flushed, so the catalogue also remembers local increments and adds the ones made after an
+ * event was loaded to the value it reports.
+ */
+final class EventCatalogue {
+
+    /** Where an events call may take its data from, cheapest first. */
+    enum Freshness {
+        /** The catalogue, if it holds the data and is young enough; otherwise like {@link #LOCAL}. */
+        CACHE,
+        /** The Play Games client cache ({@code load(false)}). */
+        LOCAL,
+        /** The Play Games server ({@code load(true)}). */
+        NETWORK;
+
+        @NonNull
+        static Freshness fromOptions(@Nullable JSONObject options, @NonNull Freshness fallback) {
+            String value = options != null ? options.optString("freshness", null) : null;
+            if (value == null) {
+                return fallback;
+            }
+            switch (value) {
+                case "cache":
+                    return CACHE;
+                case "local":
+                    return LOCAL;
+                case "network":
+                    return NETWORK;
+                default:
+                    return fallback;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Event event;
+        final long loadStartedAt;
+
+        Entry(Event event, long loadStartedAt) {
+            this.event = event;
+            this.loadStartedAt = loadStartedAt;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, List<long[]>> increments = new HashMap<>();
+    private long completeLoadedAt = -1;
+
+    /** Replaces the catalogue with a full load that was started at {@code loadStartedAt}. */
+    synchronized void replaceAll(@NonNull Iterable<Event> events, long loadStartedAt) {
+        entries.clear();
+        for (Event event : events) {
+            entries.put(event.getEventId(), new Entry(event.freeze(), loadStartedAt));
+            pruneIncrements(event.getEventId(), loadStartedAt);
+        }
+        completeLoadedAt = SystemClock.elapsedRealtime();
+    }
+
+    synchronized void put(@NonNull Event event, long loadStartedAt) {
+        entries.put(event.getEventId(), new Entry(event.freeze(), loadStartedAt));
+        pruneIncrements(event.getEventId(), loadStartedAt);
+    }
+
+    synchronized void recordIncrement(@NonNull String eventId, long amount) {
+        List<long[]> pending = increments.get(eventId);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            increments.put(eventId, pending);
+        }
+        pending.add(new long[] { SystemClock.elapsedRealtime(), amount });
+    }
+
+    /**
+     * Every event from the last full load, or {@code null} when there was none or it is older than
+     * {@code maxAgeMillis} ({@code < 0} accepts any age).
+     */
+    @Nullable
+    synchronized List<Event> getAll(long maxAgeMillis) {
+        if (!isFresh(maxAgeMillis)) {
+            return null;
+        }
+        List<Event> events = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            events.add(entry.event);
+        }
+        return events;
+    }
+
+    @Nullable
+    synchronized Event get(@NonNull String eventId, long maxAgeMillis) {
+        Entry entry = entries.get(eventId);
+        if (entry == null) {
+            return null;
+        }
+        if (maxAgeMillis >= 0 && SystemClock.elapsedRealtime() - entry.loadStartedAt > maxAgeMillis) {
+            return null;
+        }
+        return entry.event;
+    }
+
+    /** Sum of local increments made after {@code eventId} was loaded. */
+    synchronized long pendingIncrement(@NonNull String eventId) {
+        List<long[]> pending = increments.get(eventId);
+        Entry entry = entries.get(eventId);
+        if (pending == null) {
+            return 0;
+        }
+        long since = entry != null ? entry.loadStartedAt : Long.MIN_VALUE;
+        long total = 0;
+        for (long[] increment : pending) {
+            if (increment[0] >= since) {
+                total += increment[1];
+            }
+        }
+        return total;
+    }
+
+    synchronized boolean isFresh(long maxAgeMillis) {
+        if (completeLoadedAt < 0) {
+            return false;
+        }
+        return maxAgeMillis < 0 || SystemClock.elapsedRealtime() - completeLoadedAt <= maxAgeMillis;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        increments.clear();
+        completeLoadedAt = -1;
+    }
+
+    private void pruneIncrements(String eventId, long loadStartedAt) {
+        List<long[]> pending = increments.get(eventId);
+        if (pending == null) {
+            return;
+        }
+        Iterator<long[]> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next()[0] < loadStartedAt) {
+                iterator.remove();
+            }
+        }
+        if (pending.isEmpty()) {
+            increments.remove(eventId);
+        }
+    }
+}
@@ -0,0 +1,960 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.common.api.Status;
+import com.google.android.gms.games.GamesClientStatusCodes;
+import com.google.android.gms.games.Game;
+import com.google.android.gms.games.Player;
+import com.google.android.gms.games.achievement.Achievement;
+import com.google.android.gms.games.event.Event;
+import com.google.android.gms.games.gamessignin.AuthResponse;
+import com.google.android.gms.games.gamessignin.AuthScope;
+import com.google.android.gms.games.leaderboard.Leaderboard;
+import com.google.android.gms.games.leaderboard.LeaderboardScore;
+import com.google.android.gms.games.leaderboard.ScoreSubmissionData;
+import com.google.android.gms.games.snapshot.Snapshot;
+import com.google.android.gms.games.snapshot.SnapshotContents;
+import com.google.android.gms.games.snapshot.SnapshotMetadata;
+import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for Play Games Services, enabled with the {@code GPGS_FAKE_BACKEND} preference.
+ *
+ * It serves a generated dataset (achievements, leaderboards with a few hundred scores each, events,
+ * friends) and keeps writes, so a load test sees its own unlocks, scores and saves. Every call answers
+ * after {@code latencyMillis} plus up to {@code jitterMillis}; a share of calls given by
+ * {@code failureRate} fails with {@code failureStatusCode}, and calls beyond the throttle's token
+ * bucket fail with {@code NETWORK_ERROR_OPERATION_FAILED}, the way a quota-limited backend would.
+ * Time spans and collections are ignored: every leaderboard query reads the same all-time board.
+ * Player images are {@code content://} URIs that {@link #imageSource} answers with generated PNGs, in
+ * place of the Play Games content provider.
+ *
+ * Records are dynamic proxies over the Play Games model interfaces, so they stay valid whatever
+ * getters a newer SDK adds; anything the fake does not model reads as 0, {@code false} or {@code null}.
+ */
+final class FakeGamesBackend implements GamesClients {
+
+    static final String PREFERENCE = "GPGS_FAKE_BACKEND";
+    static final String IMAGE_AUTHORITY = "com.exelerus.gpgs.fake";
+
+    private static final int MAX_IMAGE_EDGE = 2048;
+
+    private static final String PLAYER_ID = "fake-player";
+    private static final int ACHIEVEMENT_COUNT = 30;
+    private static final int LEADERBOARD_COUNT = 5;
+    private static final int SCORES_PER_LEADERBOARD = 500;
+    private static final int EVENT_COUNT = 20;
+    private static final int FRIEND_COUNT = 100;
+
+    private final ScheduledExecutorService scheduler;
+    private final Random random = new Random(42);
+    private final TokenBucket throttle = new TokenBucket(1, 0);
+
+    private volatile long latencyMillis = 50;
+    private volatile long jitterMillis = 25;
+    private volatile double failureRate = 0;
+    private volatile int failureStatusCode = CommonStatusCodes.NETWORK_ERROR;
+    private volatile boolean signedIn = true;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong imageLoads = new AtomicLong();
+
+    // Guarded by this. Records are stored as getter-name -> value maps and wrapped on the way out.
+    private final Map<String, Map<String, Object>> players = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> achievements = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> leaderboards = new LinkedHashMap<>();
+    private final Map<String, Map<String, Long>> scores = new HashMap<>();
+    private final Map<String, Map<String, Object>> events = new LinkedHashMap<>();
+    private final Map<String, SavedGame> savedGames = new LinkedHashMap<>();
+    private int nextSnapshotId = 1;
+    // Friends handed out since the last loadFriends, for loadMoreFriends.
+    private int friendsLoaded = 0;
+
+    private static final class SavedGame {
+        final String snapshotId;
+        final String uniqueName;
+        byte[] data = new byte[0];
+        String description;
+        long lastModified;
+        long playedTime = -1;
+        long progressValue = -1;
+
+        SavedGame(String snapshotId, String uniqueName) {
+            this.snapshotId = snapshotId;
+            this.uniqueName = uniqueName;
+        }
+    }
+
+    FakeGamesBackend(@NonNull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        seed();
+    }
+
+    /** Changes the simulated conditions; {@code null} keeps the current value. */
+    void configure(@Nullable Long latencyMillis, @Nullable Long jitterMillis, @Nullable Double failureRate,
+                   @Nullable Integer failureStatusCode, @Nullable Integer throttleCapacity, @Nullable Double throttleRefillPerSecond) {
+        if (latencyMillis != null) this.latencyMillis = Math.max(0, latencyMillis);
+        if (jitterMillis != null) this.jitterMillis = Math.max(0, jitterMillis);
+        if (failureRate != null) this.failureRate = Math.min(1, Math.max(0, failureRate));
+        if (failureStatusCode != null) this.failureStatusCode = failureStatusCode;
+        if (throttleCapacity != null || throttleRefillPerSecond != null) {
+            throttle.configure(throttleCapacity != null ? throttleCapacity : throttle.getCapacity(),
+                    throttleRefillPerSecond != null ? throttleRefillPerSecond : throttle.getRefillPerSecond());
+        }
+    }
+
+    /** Current settings and how many calls were answered, failed on purpose or throttled. */
+    JSONObject toJson() throws JSONException {
+        JSONObject throttleJson = new JSONObject();
+        throttleJson.put("capacity", throttle.getCapacity());
+        throttleJson.put("refillPerSecond", throttle.getRefillPerSecond());
+
+        JSONObject json = new JSONObject();
+        json.put("latencyMillis", latencyMillis);
+        json.put("jitterMillis", jitterMillis);
+        json.put("failureRate", failureRate);
+        json.put("failureStatusCode", failureStatusCode);
+        json.put("throttle", throttleJson);
+        json.put("calls", calls.get());
+        json.put("failures", failures.get());
+        json.put("throttled", throttled.get());
+        json.put("imageLoads", imageLoads.get());
+        return json;
+    }
+
+    /**
+     * Stands in for the Play Games content provider: {@code content://IMAGE_AUTHORITY/<width>x<height>/<name>}
+     * is answered after the simulated latency with a PNG of that size, filled with a colour derived from
+     * the name. Any other URI is passed to {@code fallback}.
+     */
+    @NonNull
+    ImagePipeline.ImageSource imageSource(@NonNull final ImagePipeline.ImageSource fallback) {
+        return new ImagePipeline.ImageSource() {
+            @NonNull
+            @Override
+            public InputStream open(@NonNull Uri uri) throws IOException {
+                List<String> segments = uri.getPathSegments();
+                if (!"content".equals(uri.getScheme()) || !IMAGE_AUTHORITY.equals(uri.getAuthority()) || segments.size() != 2) {
+                    return fallback.open(uri);
+                }
+                String[] size = segments.get(0).split("x");
+                int width;
+                int height;
+                try {
+                    width = Integer.parseInt(size[0]);
+                    height = size.length == 2 ? Integer.parseInt(size[1]) : -1;
+                } catch (NumberFormatException e) {
+                    throw new IOException("Bad fake image size: " + uri);
+                }
+                if (width <= 0 || height <= 0 || width > MAX_IMAGE_EDGE || height > MAX_IMAGE_EDGE) {
+                    throw new IOException("Bad fake image size: " + uri);
+                }
+                imageLoads.incrementAndGet();
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Fake image load interrupted.");
+                }
+                Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+                bitmap.eraseColor(0xFF000000 | (segments.get(1).hashCode() & 0xFFFFFF));
+                ByteArrayOutputStream png = new ByteArrayOutputStream();
+                bitmap.compress(Bitmap.CompressFormat.PNG, 100, png);
+                bitmap.recycle();
+                return new ByteArrayInputStream(png.toByteArray());
+            }
+        };
+    }
+
+    @Override
+    public SignIn signIn() {
+        return signIn;
+    }
+
+    @Override
+    public Achievements achievements() {
+        return achievementsClient;
+    }
+
+    @Override
+    public Leaderboards leaderboards() {
+        return leaderboardsClient;
+    }
+
+    @Override
+    public Snapshots snapshots() {
+        return snapshotsClient;
+    }
+
+    @Override
+    public Events events() {
+        return eventsClient;
+    }
+
+    @Override
+    public Players players() {
+        return playersClient;
+    }
+
+    private final SignIn signIn = new SignIn() {
+        @Override
+        public Task<Boolean> isAuthenticated() {
+            return respond(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return signedIn;
+                }
+            });
+        }
+
+        @Override
+        public Task<Boolean> signIn() {
+            return respond(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    signedIn = true;
+                    return true;
+                }
+            });
+        }
+
+        @Override
+        public Task<AuthResponse> requestServerSideAccess(@NonNull String serverClientId, boolean forceRefreshToken, @NonNull List<AuthScope> scopes) {
+            return unsupported("server auth codes");
+        }
+
+        @Override
+        public Task<Void> signOut(@NonNull GoogleSignInOptions options) {
+            return respond(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    signedIn = false;
+                    return null;
+                }
+            });
+        }
+    };
+
+    private final Achievements achievementsClient = new Achievements() {
+        @Override
+        public void unlock(@NonNull final String achievementId) {
+            updateAchievement(achievementId, Achievement.STATE_UNLOCKED, null, false);
+        }
+
+        @Override
+        public void increment(@NonNull final String achievementId, int steps) {
+            updateAchievement(achievementId, null, steps, true);
+        }
+
+        @Override
+        public void reveal(@NonNull final String achievementId) {
+            updateAchievement(achievementId, Achievement.STATE_REVEALED, null, false);
+        }
+
+        @Override
+        public void setSteps(@NonNull final String achievementId, int steps) {
+            updateAchievement(achievementId, null, steps, false);
+        }
+
+        @Override
+        public Task<Records<Achievement>> load(boolean forceReload) {
+            return respond(new Callable<Records<Achievement>>() {
+                @Override
+                public Records<Achievement> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        return records(Achievement.class, achievements.values());
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Intent> getAchievementsIntent() {
+            return unsupported("the achievements UI");
+        }
+    };
+
+    private final Leaderboards leaderboardsClient = new Leaderboards() {
+        @Override
+        public void submitScore(@NonNull final String leaderboardId, final long score, @Nullable String scoreTag) {
+            respond(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    synchronized (FakeGamesBackend.this) {
+                        Map<String, Long> board = scores.get(leaderboardId);
+                        Long best = board != null ? board.get(PLAYER_ID) : null;
+                        if (board != null && (best == null || score > best)) {
+                            board.put(PLAYER_ID, score);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+
+        @Override
+        public Task<ScoreSubmission> submitScoreImmediate(@NonNull final String leaderboardId, final long score, @Nullable final String scoreTag) {
+            return respond(new Callable<ScoreSubmission>() {
+                @Override
+                public ScoreSubmission call() throws ApiException {
+                    final boolean newBest;
+                    synchronized (FakeGamesBackend.this) {
+                        Map<String, Long> board = scores.get(leaderboardId);
+                        if (board == null) {
+                            throw new ApiException(new Status(CommonStatusCodes.DEVELOPER_ERROR, "Unknown leaderboard " + leaderboardId + "."));
+                        }
+                        Long best = board.get(PLAYER_ID);
+                        newBest = best == null || score > best;
+                        if (newBest) {
+                            board.put(PLAYER_ID, score);
+                        }
+                    }
+                    // Time spans are not modelled, so every span reports the same outcome.
+                    final ScoreSubmissionData.Result result = new ScoreSubmissionData.Result(score, String.valueOf(score), scoreTag, newBest);
+                    return new ScoreSubmission() {
+                        @Override
+                        public String getLeaderboardId() {
+                            return leaderboardId;
+                        }
+
+                        @Override
+                        public String getPlayerId() {
+                            return PLAYER_ID;
+                        }
+
+                        @Override
+                        public ScoreSubmissionData.Result getScoreResult(int timeSpan) {
+                            return result;
+                        }
+                    };
+                }
+            });
+        }
+
+        @Override
+        public Task<LeaderboardScore> loadCurrentPlayerLeaderboardScore(@NonNull final String leaderboardId, int timeSpan, int collection) {
+            return respond(new Callable<LeaderboardScore>() {
+                @Override
+                public LeaderboardScore call() {
+                    synchronized (FakeGamesBackend.this) {
+                        List<LeaderboardScore> ranking = ranking(leaderboardId);
+                        for (LeaderboardScore score : ranking) {
+                            if (PLAYER_ID.equals(score.getScoreHolder().getPlayerId())) {
+                                return score;
+                            }
+                        }
+                        return null;
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<ScorePage> loadTopScores(@NonNull final String leaderboardId, int timeSpan, int collection, final int maxResults) {
+            return respond(new Callable<ScorePage>() {
+                @Override
+                public ScorePage call() {
+                    synchronized (FakeGamesBackend.this) {
+                        List<LeaderboardScore> ranking = ranking(leaderboardId);
+                        return scorePage(leaderboardId, ranking.subList(0, Math.min(maxResults, ranking.size())));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<ScorePage> loadPlayerCenteredScores(@NonNull final String leaderboardId, int timeSpan, int collection, final int maxResults) {
+            return respond(new Callable<ScorePage>() {
+                @Override
+                public ScorePage call() {
+                    synchronized (FakeGamesBackend.this) {
+                        List<LeaderboardScore> ranking = ranking(leaderboardId);
+                        int center = 0;
+                        for (int i = 0; i < ranking.size(); i++) {
+                            if (PLAYER_ID.equals(ranking.get(i).getScoreHolder().getPlayerId())) {
+                                center = i;
+                                break;
+                            }
+                        }
+                        int from = Math.max(0, Math.min(center - maxResults / 2, ranking.size() - maxResults));
+                        return scorePage(leaderboardId, ranking.subList(from, Math.min(from + maxResults, ranking.size())));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Records<Leaderboard>> loadLeaderboardMetadata(boolean forceReload) {
+            return respond(new Callable<Records<Leaderboard>>() {
+                @Override
+                public Records<Leaderboard> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        return records(Leaderboard.class, leaderboards.values());
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Leaderboard> loadLeaderboardMetadata(@NonNull final String leaderboardId, boolean forceReload) {
+            return respond(new Callable<Leaderboard>() {
+                @Override
+                public Leaderboard call() {
+                    synchronized (FakeGamesBackend.this) {
+                        Map<String, Object> values = leaderboards.get(leaderboardId);
+                        return values != null ? record(Leaderboard.class, values) : null;
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Intent> getLeaderboardIntent(@NonNull String leaderboardId) {
+            return unsupported("the leaderboard UI");
+        }
+
+        @Override
+        public Task<Intent> getAllLeaderboardsIntent() {
+            return unsupported("the leaderboards UI");
+        }
+    };
+
+    private final Snapshots snapshotsClient = new Snapshots() {
+        @Override
+        public Task<Snapshot> open(@NonNull final String name, final boolean createIfNotFound) {
+            return respond(new Callable<Snapshot>() {
+                @Override
+                public Snapshot call() throws ApiException {
+                    synchronized (FakeGamesBackend.this) {
+                        SavedGame saved = savedGames.get(name);
+                        if (saved == null) {
+                            if (!createIfNotFound) {
+                                throw new ApiException(new Status(GamesClientStatusCodes.SNAPSHOT_NOT_FOUND, "Snapshot not found: " + name));
+                            }
+                            saved = new SavedGame("fake-snapshot-" + (nextSnapshotId++), name);
+                        }
+                        return snapshot(saved);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<SnapshotMetadata> commitAndClose(@NonNull final Snapshot snapshot, @NonNull final SnapshotMetadataChange change) {
+            return respond(new Callable<SnapshotMetadata>() {
+                @Override
+                public SnapshotMetadata call() throws Exception {
+                    byte[] data = snapshot.getSnapshotContents().readFully();
+                    SnapshotMetadata opened = snapshot.getMetadata();
+                    synchronized (FakeGamesBackend.this) {
+                        SavedGame saved = savedGames.get(opened.getUniqueName());
+                        if (saved == null) {
+                            saved = new SavedGame(opened.getSnapshotId(), opened.getUniqueName());
+                            savedGames.put(saved.uniqueName, saved);
+                        }
+                        saved.data = data;
+                        saved.lastModified = System.currentTimeMillis();
+                        if (change.getDescription() != null) saved.description = change.getDescription();
+                        if (change.getPlayedTimeMillis() != null) saved.playedTime = change.getPlayedTimeMillis();
+                        if (change.getProgressValue() != null) saved.progressValue = change.getProgressValue();
+                        return record(SnapshotMetadata.class, metadata(saved));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Void> discardAndClose(@NonNull Snapshot snapshot) {
+            // Opening holds nothing here, so there is nothing to release.
+            return respond(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    return null;
+                }
+            });
+        }
+
+        @Override
+        public Task<String> delete(@NonNull final SnapshotMetadata metadata) {
+            return respond(new Callable<String>() {
+                @Override
+                public String call() throws ApiException {
+                    synchronized (FakeGamesBackend.this) {
+                        if (savedGames.remove(metadata.getUniqueName()) == null) {
+                            throw new ApiException(new Status(GamesClientStatusCodes.SNAPSHOT_NOT_FOUND, "Snapshot not found: " + metadata.getUniqueName()));
+                        }
+                        return metadata.getSnapshotId();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Records<SnapshotMetadata>> load(boolean forceReload) {
+            return respond(new Callable<Records<SnapshotMetadata>>() {
+                @Override
+                public Records<SnapshotMetadata> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        List<Map<String, Object>> list = new ArrayList<>();
+                        for (SavedGame saved : savedGames.values()) {
+                            list.add(metadata(saved));
+                        }
+                        return records(SnapshotMetadata.class, list);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Intent> getSelectSnapshotIntent(@NonNull String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots) {
+            return unsupported("the saved games UI");
+        }
+    };
+
+    private final Events eventsClient = new Events() {
+        @Override
+        public Task<Records<Event>> load(boolean forceReload) {
+            return respond(new Callable<Records<Event>>() {
+                @Override
+                public Records<Event> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        return records(Event.class, events.values());
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Records<Event>> loadByIds(boolean forceReload, @NonNull final String... eventIds) {
+            return respond(new Callable<Records<Event>>() {
+                @Override
+                public Records<Event> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        List<Map<String, Object>> list = new ArrayList<>();
+                        for (String id : eventIds) {
+                            if (events.containsKey(id)) {
+                                list.add(events.get(id));
+                            }
+                        }
+                        return records(Event.class, list);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void increment(@NonNull final String eventId, final int amount) {
+            respond(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    synchronized (FakeGamesBackend.this) {
+                        Map<String, Object> event = events.get(eventId);
+                        if (event != null) {
+                            event = new HashMap<>(event);
+                            event.put("getValue", (Long) event.get("getValue") + amount);
+                            events.put(eventId, event);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+    };
+
+    private final Players playersClient = new Players() {
+        @Override
+        public Task<Player> getCurrentPlayer() {
+            return loadPlayer(PLAYER_ID, false);
+        }
+
+        @Override
+        public Task<Player> loadPlayer(@NonNull final String playerId, boolean forceReload) {
+            return respond(new Callable<Player>() {
+                @Override
+                public Player call() {
+                    synchronized (FakeGamesBackend.this) {
+                        Map<String, Object> values = players.get(playerId.isEmpty() ? PLAYER_ID : playerId);
+                        return values != null ? record(Player.class, values) : null;
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Records<Player>> loadFriends(final int pageSize, boolean forceReload) {
+            return respond(new Callable<Records<Player>>() {
+                @Override
+                public Records<Player> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        friendsLoaded = 0;
+                        return nextFriendPage(pageSize);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Task<Records<Player>> loadMoreFriends(final int pageSize) {
+            return respond(new Callable<Records<Player>>() {
+                @Override
+                public Records<Player> call() {
+                    synchronized (FakeGamesBackend.this) {
+                        return nextFriendPage(pageSize);
+                    }
+                }
+            });
+        }
+
+        // Caller holds FakeGamesBackend.this.
+        private Records<Player> nextFriendPage(int pageSize) {
+            List<Map<String, Object>> page = new ArrayList<>();
+            int index = 0;
+            for (Map<String, Object> player : players.values()) {
+                if (PLAYER_ID.equals(player.get("getPlayerId"))) {
+                    continue;
+                }
+                if (index >= FRIEND_COUNT || page.size() == pageSize) {
+                    break;
+                }
+                if (index++ >= friendsLoaded) {
+                    page.add(player);
+                }
+            }
+            friendsLoaded += page.size();
+            return records(Player.class, page);
+        }
+
+        @Override
+        public Task<Intent> getCompareProfileIntent(@NonNull String playerId) {
+            return unsupported("the profile UI");
+        }
+
+        @Override
+        public Task<Intent> getPlayerSearchIntent() {
+            return unsupported("the player search UI");
+        }
+    };
+
+    private synchronized void seed() {
+        long now = System.currentTimeMillis();
+        players.put(PLAYER_ID, values("getPlayerId", PLAYER_ID, "getDisplayName", "Fake Player", "getTitle", "Tester",
+                "getRetrievedTimestamp", now, "getIconImageUri", image(96, PLAYER_ID), "getHiResImageUri", image(512, PLAYER_ID)));
+        for (int i = 0; i < SCORES_PER_LEADERBOARD; i++) {
+            String id = "fake-player-" + i;
+            players.put(id, values("getPlayerId", id, "getDisplayName", "Player " + i, "getRetrievedTimestamp", now,
+                    "getIconImageUri", image(96, id), "getHiResImageUri", image(512, id)));
+        }
+        for (int i = 0; i < ACHIEVEMENT_COUNT; i++) {
+            String id = "fake-achievement-" + i;
+            boolean incremental = i % 3 == 0;
+            achievements.put(id, values("getAchievementId", id, "getName", "Achievement " + i, "getDescription", "Fake achievement " + i,
+                    "getType", incremental ? Achievement.TYPE_INCREMENTAL : Achievement.TYPE_STANDARD,
+                    "getState", i % 5 == 0 ? Achievement.STATE_HIDDEN : Achievement.STATE_REVEALED,
+                    "getXpValue", 100L, "getLastUpdatedTimestamp", now,
+                    "getCurrentSteps", 0, "getTotalSteps", incremental ? 10 : 0));
+        }
+        for (int i = 0; i < LEADERBOARD_COUNT; i++) {
+            String id = "fake-leaderboard-" + i;
+            // Score order 1 is SCORE_ORDER_LARGER_IS_BETTER.
+            leaderboards.put(id, values("getLeaderboardId", id, "getDisplayName", "Leaderboard " + i, "getScoreOrder", 1));
+            Map<String, Long> board = new HashMap<>();
+            for (int j = 0; j < SCORES_PER_LEADERBOARD; j++) {
+                board.put("fake-player-" + j, (long) random.nextInt(1_000_000));
+            }
+            scores.put(id, board);
+        }
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            String id = "fake-event-" + i;
+            events.put(id, values("getEventId", id, "getName", "Event " + i, "getDescription", "Fake event " + i, "getValue", 0L));
+        }
+    }
+
+    private void updateAchievement(final String achievementId, @Nullable final Integer state, @Nullable final Integer steps, final boolean relative) {
+        respond(new Callable<Void>() {
+            @Override
+            public Void call() {
+                synchronized (FakeGamesBackend.this) {
+                    Map<String, Object> achievement = achievements.get(achievementId);
+                    if (achievement == null || Integer.valueOf(Achievement.STATE_UNLOCKED).equals(achievement.get("getState"))) {
+                        return null;
+                    }
+                    achievement = new HashMap<>(achievement);
+                    if (state != null) {
+                        achievement.put("getState", state);
+                    }
+                    if (steps != null && Integer.valueOf(Achievement.TYPE_INCREMENTAL).equals(achievement.get("getType"))) {
+                        int total = (Integer) achievement.get("getTotalSteps");
+                        int current = (Integer) achievement.get("getCurrentSteps");
+                        int next = Math.min(total, relative ? current + steps : Math.max(current, steps));
+                        achievement.put("getCurrentSteps", next);
+                        if (next == total) {
+                            achievement.put("getState", Achievement.STATE_UNLOCKED);
+                        }
+                    }
+                    achievement.put("getLastUpdatedTimestamp", System.currentTimeMillis());
+                    achievements.put(achievementId, achievement);
+                }
+                return null;
+            }
+        });
+    }
+
+    // Callers hold the lock.
+    private List<LeaderboardScore> ranking(String leaderboardId) {
+        Map<String, Long> board = scores.get(leaderboardId);
+        if (board == null) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(board.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Long>>() {
+            @Override
+            public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+                return Long.compare(b.getValue(), a.getValue());
+            }
+        });
+        List<LeaderboardScore> ranking = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, Long> entry = entries.get(i);
+            Player holder = record(Player.class, players.get(entry.getKey()));
+            ranking.add(record(LeaderboardScore.class, values("getRank", (long) (i + 1), "getDisplayRank", String.valueOf(i + 1),
+                    "getRawScore", entry.getValue(), "getDisplayScore", String.valueOf(entry.getValue()),
+                    "getScoreHolder", holder, "getScoreHolderDisplayName", holder.getDisplayName())));
+        }
+        return ranking;
+    }
+
+    // Callers hold the lock.
+    private ScorePage scorePage(String leaderboardId, List<LeaderboardScore> page) {
+        Map<String, Object> leaderboard = leaderboards.get(leaderboardId);
+        return new ListScorePage(new ArrayList<>(page), leaderboard != null ? record(Leaderboard.class, leaderboard) : null);
+    }
+
+    // Callers hold the lock.
+    private Map<String, Object> metadata(SavedGame saved) {
+        Game game = record(Game.class, values("getDisplayName", "Fake Game"));
+        return values("getSnapshotId", saved.snapshotId, "getUniqueName", saved.uniqueName, "getGame", game,
+                "getDescription", saved.description, "getLastModifiedTimestamp", saved.lastModified,
+                "getPlayedTime", saved.playedTime, "getProgressValue", saved.progressValue);
+    }
+
+    // Callers hold the lock. The snapshot carries its own copy of the data until it is committed.
+    private Snapshot snapshot(SavedGame saved) {
+        final byte[][] data = {saved.data.clone()};
+        SnapshotContents contents = (SnapshotContents) Proxy.newProxyInstance(SnapshotContents.class.getClassLoader(),
+                new Class<?>[]{SnapshotContents.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        switch (method.getName()) {
+                            case "readFully":
+                                return data[0].clone();
+                            case "writeBytes":
+                                data[0] = ((byte[]) args[0]).clone();
+                                return true;
+                            default:
+                                return defaultAnswer(proxy, method, args, "SnapshotContents");
+                        }
+                    }
+                });
+        return record(Snapshot.class, values("getMetadata", record(SnapshotMetadata.class, metadata(saved)), "getSnapshotContents", contents));
+    }
+
+    /**
+     * Answers {@code answer} on the scheduler after the simulated latency, unless the call is throttled
+     * or picked for an injected failure.
+     */
+    private <T> Task<T> respond(final Callable<T> answer) {
+        calls.incrementAndGet();
+        final Exception failure;
+        if (throttle.tryAcquire() > 0) {
+            throttled.incrementAndGet();
+            failure = new ApiException(new Status(GamesClientStatusCodes.NETWORK_ERROR_OPERATION_FAILED, "Throttled by the fake backend."));
+        } else if (failureRate > 0 && random.nextDouble() < failureRate) {
+            failures.incrementAndGet();
+            failure = new ApiException(new Status(failureStatusCode, "Failure injected by the fake backend."));
+        } else {
+            failure = null;
+        }
+
+        final TaskCompletionSource<T> source = new TaskCompletionSource<>();
+        long delay = latencyMillis + (jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis) : 0);
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (failure != null) {
+                    source.setException(failure);
+                    return;
+                }
+                try {
+                    source.setResult(answer.call());
+                } catch (Exception e) {
+                    source.setException(e);
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        return source.getTask();
+    }
+
+    private <T> Task<T> unsupported(String feature) {
+        return respond(new Callable<T>() {
+            @Override
+            public T call() throws ApiException {
+                throw new ApiException(new Status(CommonStatusCodes.DEVELOPER_ERROR, "The fake backend has no " + feature + "."));
+            }
+        });
+    }
+
+    private static Uri image(int edge, String name) {
+        return new Uri.Builder().scheme("content").authority(IMAGE_AUTHORITY)
+                .appendPath(edge + "x" + edge).appendPath(name).build();
+    }
+
+    private static Map<String, Object> values(Object... keysAndValues) {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            values.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    private static <T> Records<T> records(Class<T> type, Iterable<Map<String, Object>> values) {
+        List<T> list = new ArrayList<>();
+        for (Map<String, Object> item : values) {
+            list.add(record(type, item));
+        }
+        return new ListRecords<>(list);
+    }
+
+    /** A read-only {@code type} whose getters answer from {@code values}, keyed by method name. */
+    private static <T> T record(final Class<T> type, Map<String, Object> values) {
+        final Map<String, Object> snapshot = Collections.unmodifiableMap(new HashMap<>(values));
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (snapshot.containsKey(method.getName())) {
+                    return snapshot.get(method.getName());
+                }
+                return defaultAnswer(proxy, method, args, type.getSimpleName() + snapshot);
+            }
+        }));
+    }
+
+    private static Object defaultAnswer(Object proxy, Method method, Object[] args, String description) {
+        switch (method.getName()) {
+            case "freeze":
+                return proxy;
+            case "isDataValid":
+                return true;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return description;
+            default:
+                Class<?> returnType = method.getReturnType();
+                // A one-element primitive array holds the type's zero value.
+                return returnType.isPrimitive() && returnType != void.class ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+        }
+    }
+
+    private static class ListRecords<T> implements Records<T> {
+        private final List<T> items;
+
+        ListRecords(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public int getCount() {
+            return items.size();
+        }
+
+        @Override
+        public T get(int index) {
+            return items.get(index);
+        }
+
+        @NonNull
+        @Override
+        public Iterator<T> iterator() {
+            return items.iterator();
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+
+    private static final class ListScorePage extends ListRecords<LeaderboardScore> implements ScorePage {
+        @Nullable
+        private final Leaderboard leaderboard;
+
+        ListScorePage(List<LeaderboardScore> scores, @Nullable Leaderboard leaderboard) {
+            super(scores);
+            this.leaderboard = leaderboard;
+        }
+
+        @Nullable
+        @Override
+        public Leaderboard getLeaderboard() {
+            return leaderboard;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Projection of the fields a caller wants in a converted record.
+ * Paths are dot separated, so {@code "scoreHolder.displayName"} selects a single field of a nested
+ * object while a bare {@code "scoreHolder"} selects the nested object with all of its fields.
+ * Converters check {@link #includes(String)} before calling the matching getter, so fields that
+ * were not requested are never read from the underlying Play Games object.
+ */
+final class FieldMask {
+
+    static final FieldMask ALL = new FieldMask(null);
+
+    private static final String OPTION_FIELDS = "fields";
+
+    @Nullable
+    private final Map<String, FieldMask> fields;
+
+    private FieldMask(@Nullable Map<String, FieldMask> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Builds a mask from the {@code fields} array of an action options object.
+     * A missing or empty array selects every field.
+     */
+    @NonNull
+    static FieldMask fromOptions(@Nullable JSONObject options) {
+        if (options == null) {
+            return ALL;
+        }
+        JSONArray paths = options.optJSONArray(OPTION_FIELDS);
+        if (paths == null || paths.length() == 0) {
+            return ALL;
+        }
+        String[] values = new String[paths.length()];
+        for (int i = 0; i < paths.length(); i++) {
+            values[i] = paths.optString(i, "");
+        }
+        return of(values);
+    }
+
+    @NonNull
+    static FieldMask of(String... paths) {
+        Map<String, FieldMask> root = new HashMap<>();
+        for (String path : paths) {
+            if (path == null || path.trim().isEmpty()) {
+                continue;
+            }
+            add(root, path.trim());
+        }
+        return root.isEmpty() ? ALL : new FieldMask(root);
+    }
+
+    private static void add(Map<String, FieldMask> target, String path) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            target.put(path, ALL);
+            return;
+        }
+
+        String head = path.substring(0, dot);
+        String rest = path.substring(dot + 1);
+        FieldMask existing = target.get(head);
+        if (existing == ALL) {
+            // The whole nested object is already selected.
+            return;
+        }
+        if (existing == null) {
+            existing = new FieldMask(new HashMap<String, FieldMask>());
+            target.put(head, existing);
+        }
+        if (rest.isEmpty()) {
+            target.put(head, ALL);
+        } else {
+            add(existing.fields, rest);
+        }
+    }
+
+    boolean isAll() {
+        return fields == null;
+    }
+
+    boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    /**
+     * Returns the mask for a nested object. Only meaningful when {@link #includes(String)} is true.
+     */
+    @NonNull
+    FieldMask child(String field) {
+        if (fields == null) {
+            return ALL;
+        }
+        FieldMask nested = fields.get(field);
+        return nested != null ? nested : ALL;
+    }
+
+    /**
+     * Returns this mask, or {@code fallback} when the caller did not ask for specific fields.
+     * Used by actions whose legacy payload is narrower than the full converter output.
+     */
+    @NonNull
+    FieldMask orDefault(@NonNull FieldMask fallback) {
+        return fields == null ? fallback : this;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.games.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The signed-in player's friends, frozen and keyed by player ID, in the order they were paged in.
+ *
+ * Pages are added as they arrive during a load, but the store only counts as loaded once a load has
+ * paged through the whole list; {@link #list} returns {@code null} until then, so a partial list is
+ * never served. A later full load replaces the contents, dropping friends it no longer returned.
+ */
+final class FriendStore {
+
+    /** One paging pass over the friend list; {@link #finish} publishes it. */
+    final class Load {
+        private final Map<String, Player> friends = new LinkedHashMap<>();
+
+        /** Freezes and keeps the players of a page that this load has not seen yet, and returns them. */
+        List<Player> addPage(@NonNull Iterable<Player> page) {
+            List<Player> added = new ArrayList<>();
+            for (Player player : page) {
+                if (!friends.containsKey(player.getPlayerId())) {
+                    Player frozen = player.freeze();
+                    friends.put(frozen.getPlayerId(), frozen);
+                    added.add(frozen);
+                }
+            }
+            return added;
+        }
+
+        int size() {
+            return friends.size();
+        }
+
+        /** Replaces the store with everything this load paged in. */
+        List<Player> finish() {
+            synchronized (FriendStore.this) {
+                FriendStore.this.friends.clear();
+                FriendStore.this.friends.putAll(friends);
+                loaded = true;
+                loadedAt = SystemClock.elapsedRealtime();
+                return Collections.unmodifiableList(new ArrayList<>(friends.values()));
+            }
+        }
+    }
+
+    // Guarded by this.
+    private final Map<String, Player> friends = new LinkedHashMap<>();
+    private boolean loaded = false;
+    private long loadedAt;
+
+    Load begin() {
+        return new Load();
+    }
+
+    /** Every friend, or {@code null} before the first complete load. */
+    @Nullable
+    synchronized List<Player> list() {
+        return loaded ? Collections.unmodifiableList(new ArrayList<>(friends.values())) : null;
+    }
+
+    /** Whether the last complete load finished less than {@code maxAgeMillis} ago. */
+    synchronized boolean isFresh(long maxAgeMillis) {
+        return loaded && SystemClock.elapsedRealtime() - loadedAt < maxAgeMillis;
+    }
+
+    synchronized void clear() {
+        friends.clear();
+        loaded = false;
+    }
+}
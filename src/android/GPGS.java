@@ -19,6 +19,10 @@
 package com.exelerus.cordova.plugin;
 
 import android.content.Intent;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Base64;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -28,41 +32,33 @@ import com.google.android.gms.common.GoogleApiAvailability;
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.Scopes;
 import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.common.api.Releasable;
 import com.google.android.gms.common.api.Scope;
 import com.google.android.gms.common.api.Status;
 import com.google.android.gms.auth.api.signin.GoogleSignIn;
 import com.google.android.gms.auth.api.signin.GoogleSignInAccount;
-import com.google.android.gms.auth.api.signin.GoogleSignInClient;
 import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
-import com.google.android.gms.games.AnnotatedData;
-import com.google.android.gms.games.AuthenticationResult;
-import com.google.android.gms.games.EventsClient;
-import com.google.android.gms.games.GamesSignInClient;
-import com.google.android.gms.games.PlayGames;
 import com.google.android.gms.games.PlayGamesSdk;
 import com.google.android.gms.games.gamessignin.AuthResponse;
 import com.google.android.gms.games.gamessignin.AuthScope;
 import com.google.android.gms.games.Player;
-import com.google.android.gms.games.PlayerBuffer;
-import com.google.android.gms.games.PlayersClient;
-import com.google.android.gms.games.SnapshotsClient;
 import com.google.android.gms.games.event.Event;
-import com.google.android.gms.games.event.EventBuffer;
 import com.google.android.gms.games.leaderboard.Leaderboard;
-import com.google.android.gms.games.leaderboard.LeaderboardBuffer;
 import com.google.android.gms.games.leaderboard.LeaderboardScore;
-import com.google.android.gms.games.leaderboard.LeaderboardScoreBuffer;
 import com.google.android.gms.games.leaderboard.LeaderboardVariant;
+import com.google.android.gms.games.leaderboard.ScoreSubmissionData;
 import com.google.android.gms.games.snapshot.Snapshot;
 import com.google.android.gms.games.snapshot.SnapshotMetadata;
 import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
-import com.google.android.gms.games.snapshot.SnapshotMetadataBuffer;
 import com.google.android.gms.games.PlayerLevelInfo;
+import com.google.android.gms.tasks.CancellationToken;
 import com.google.android.gms.tasks.Continuation;
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
 import com.google.android.gms.tasks.Tasks;
 
 import org.apache.cordova.CallbackContext;
@@ -74,22 +70,38 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.android.gms.games.achievement.Achievement;
-import com.google.android.gms.games.achievement.AchievementBuffer;
-import com.google.android.gms.games.LeaderboardsClient.LeaderboardScores;
 
 public class GPGS extends CordovaPlugin {
 
     private static final String TAG = "GOOGLE_PLAY_GAMES";
     private boolean debugMode = false;
+    // Set while runBenchmarks measures, so per-operation debug logging does not end up in the timings.
+    private volatile boolean benchmarking = false;
 
     private static final int RC_ACHIEVEMENT_UI = 9003;
     private static final int RC_LEADERBOARD_UI = 9004;
@@ -102,85 +114,262 @@ public class GPGS extends CordovaPlugin {
     private static final String EVENT_SIGN_IN = "gpgs.signin";
     private static final String EVENT_SIGN_OUT = "gpgs.signout";
     private static final String EVENT_AVAILABILITY = "gpgs.availability";
+    private static final String EVENT_WARMUP = "gpgs.warmup";
+    private static final String EVENT_CIRCUIT = "gpgs.circuit";
+    private static final String EVENT_SNAPSHOTS = "gpgs.snapshots";
+
+    private static final String WARMUP_PLAYER = "player";
+    private static final String WARMUP_ACHIEVEMENTS = "achievements";
+    private static final String WARMUP_LEADERBOARDS = "leaderboards";
+    private static final String WARMUP_SNAPSHOTS = "snapshots";
+    private static final List<String> DEFAULT_WARMUP_DATASETS = Collections.unmodifiableList(
+            Arrays.asList(WARMUP_PLAYER, WARMUP_ACHIEVEMENTS, WARMUP_LEADERBOARDS, WARMUP_SNAPSHOTS)
+    );
 
     private static final int ERROR_CODE_HAS_RESOLUTION = 1;
     private static final int ERROR_CODE_NO_RESOLUTION = 2;
 
+    // getFriendsList and getPlayer have always returned only these two fields; a field mask can widen it.
+    private static final FieldMask PLAYER_SUMMARY_FIELDS = FieldMask.of("id", "displayName");
+    private static final int DEFAULT_FRIENDS_PAGE_SIZE = 50;
+    private static final int MAX_FRIEND_PAGES = 40;
+    private static final long FRIEND_SYNC_INTERVAL_MILLIS = 60 * 1000;
+
     private static final List<String> DEFAULT_OAUTH_SCOPES = Collections.unmodifiableList(
             Arrays.asList(Scopes.OPEN_ID, Scopes.PROFILE)
     );
 
+    private static final int PLAYER_CACHE_MAX_ENTRIES = 200;
+    private static final long PLAYER_CACHE_TTL_MILLIS = 10 * 60 * 1000;
+
+    // Read actions whose results may be shared between identical calls when their family is in coalesce mode.
+    private static final Map<String, CallGate.Family> COALESCABLE_ACTIONS = new HashMap<>();
+    static {
+        COALESCABLE_ACTIONS.put("loadAchievements", CallGate.Family.ACHIEVEMENTS);
+        COALESCABLE_ACTIONS.put("loadPlayerScore", CallGate.Family.LEADERBOARDS);
+        COALESCABLE_ACTIONS.put("loadTopScores", CallGate.Family.LEADERBOARDS);
+        COALESCABLE_ACTIONS.put("loadPlayerCenteredScores", CallGate.Family.LEADERBOARDS);
+        COALESCABLE_ACTIONS.put("loadLeaderboardMetadata", CallGate.Family.LEADERBOARDS);
+        COALESCABLE_ACTIONS.put("loadAllSnapshots", CallGate.Family.SNAPSHOTS);
+        COALESCABLE_ACTIONS.put("loadGameSave", CallGate.Family.SNAPSHOTS);
+        COALESCABLE_ACTIONS.put("getAllEvents", CallGate.Family.EVENTS);
+        COALESCABLE_ACTIONS.put("getEvents", CallGate.Family.EVENTS);
+        COALESCABLE_ACTIONS.put("getEvent", CallGate.Family.EVENTS);
+        COALESCABLE_ACTIONS.put("getFriendsList", CallGate.Family.PLAYERS);
+        COALESCABLE_ACTIONS.put("getPlayer", CallGate.Family.PLAYERS);
+        COALESCABLE_ACTIONS.put("getPlayers", CallGate.Family.PLAYERS);
+    }
+
+    private static final int IMAGE_MEMORY_BUDGET_BYTES = 8 * 1024 * 1024;
+    private static final long IMAGE_DISK_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    private final DeltaTracker achievementsDelta = new DeltaTracker();
+    private final DeltaTracker eventsDelta = new DeltaTracker();
+    private final DeltaTracker friendsDelta = new DeltaTracker();
+    private final FriendStore friendStore = new FriendStore();
+    private final HotDataCache hotData = new HotDataCache();
+    private final EventCatalogue eventCatalogue = new EventCatalogue();
+    private final ExpiringLruCache<String, Player> playerCache = new ExpiringLruCache<>(PLAYER_CACHE_MAX_ENTRIES, PLAYER_CACHE_TTL_MILLIS);
+    private final CallCoalescer callCoalescer = new CallCoalescer();
+    private final LifecycleManager lifecycle = new LifecycleManager();
+    private final AtomicBoolean warmupRunning = new AtomicBoolean(false);
+    private final AtomicBoolean snapshotRefreshRunning = new AtomicBoolean(false);
+    private final AtomicBoolean friendSyncRunning = new AtomicBoolean(false);
+    private volatile boolean warmupEnabled = false;
+    private volatile List<String> warmupDatasets = DEFAULT_WARMUP_DATASETS;
+
     private CordovaWebView cordovaWebView;
     private boolean wasSignedIn = false;
     private String serverClientId = null;
     private CallbackContext logCallbackContext = null;
+    private ImagePipeline imagePipeline;
+    private CoverImages coverImages;
+    private AutosaveScheduler autosaves;
+    private SnapshotStrands strands;
+    private AvailabilityMonitor availability;
+    private ScheduledExecutorService scheduler;
+    private CallGate callGate;
+    private CallDeadlines callDeadlines;
+    private GamesClients clients;
+    @Nullable
+    private FakeGamesBackend fakeBackend;
+    private TraceRecorder traceRecorder;
+    private final TaskCompletionSource<Void> startupRequested = new TaskCompletionSource<>();
+    // Guarded by this after plugin load. The report of the latest initialize pass.
+    private Task<JSONObject> startupReport;
+    // Guarded by this. The last friend paging pass; the next one starts after it.
+    private Task<List<Player>> friendPaging = Tasks.forResult(null);
 
     @Override
     public void initialize(CordovaInterface cordova, CordovaWebView webView) {
         super.initialize(cordova, webView);
         cordovaWebView = webView;
+        coverImages = new CoverImages(cordova.getActivity(), cordova.getThreadPool());
+        warmupEnabled = preferences.getBoolean("GPGS_WARMUP", false);
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, "gpgs-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        callDeadlines = new CallDeadlines(scheduler);
+        callGate = new CallGate(cordova.getThreadPool(), scheduler);
+        availability = new AvailabilityMonitor(cordova.getActivity(), scheduler);
+        if (preferences.getBoolean(FakeGamesBackend.PREFERENCE, false)) {
+            fakeBackend = new FakeGamesBackend(scheduler);
+            clients = fakeBackend;
+        } else {
+            clients = new PlayGamesClients(cordova.getActivity());
+        }
+        ImagePipeline.ImageSource imageSource = ImagePipeline.defaultSource(cordova.getActivity());
+        imagePipeline = new ImagePipeline(cordova.getActivity(), cordova.getThreadPool(),
+                fakeBackend != null ? fakeBackend.imageSource(imageSource) : imageSource,
+                IMAGE_MEMORY_BUDGET_BYTES, IMAGE_DISK_BUDGET_BYTES);
+        traceRecorder = new TraceRecorder(cordova.getActivity().getFilesDir());
+        if (preferences.getBoolean(TraceRecorder.PREFERENCE, false)) {
+            try {
+                debugLog("Recording trace to " + traceRecorder.start());
+            } catch (IOException | JSONException e) {
+                handleError(e, null);
+            }
+        }
+        lifecycle.register(new LifecycleManager.Participant() {
+            @Override
+            public void onPause() {
+                // Queued snapshot writes go out now; queued and retrying reads wait for the app to return.
+                callGate.suspend();
+                traceRecorder.flush();
+            }
 
-        // Initialize the SDK
-        cordova.getThreadPool().execute(new Runnable() {
             @Override
-            public void run() {
-                try {
-                    PlayGamesSdk.initialize(cordova.getActivity());
+            public void onResume() {
+                callGate.resume();
+            }
 
-                    serverClientId = getStringResource("server_client_id");
-                    if (serverClientId != null && serverClientId.trim().isEmpty()) {
-                        serverClientId = null;
-                    }
+            @Override
+            public void onDestroy() {
+                callGate.shutdown();
+                callDeadlines.cancelAll();
+                scheduler.shutdownNow();
+                hotData.clear();
+                playerCache.clear();
+                eventCatalogue.clear();
+                friendStore.clear();
+                imagePipeline.trimMemory();
+                logCallbackContext = null;
+                try {
+                    traceRecorder.stop();
+                } catch (JSONException e) {
+                    handleError(e, null);
+                }
+            }
+        });
+        strands = new SnapshotStrands(webView);
+        autosaves = new AutosaveScheduler(scheduler, new AutosaveScheduler.Sink() {
+            @Override
+            public void commit(@NonNull AutosaveScheduler.Save save, @NonNull CallbackContext callbackContext) {
+                saveGameAction(save, callbackContext);
+            }
+        }, webView);
+        // Registered after the gate so its pause runs first and the flushed saves are not held back.
+        lifecycle.register(new LifecycleManager.Participant() {
+            @Override
+            public void onPause() {
+                autosaves.flush();
+            }
 
-                    // Check if signed in
-                    GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                    gamesSignInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
-                        @Override
-                        public void onComplete(@NonNull Task<AuthenticationResult> task) {
-                            if (task.isSuccessful()) {
-                                boolean isAuthenticated = task.getResult().isAuthenticated();
-                                if (isAuthenticated) {
-                                    wasSignedIn = true;
-                                    emitSignInEvent(true);
-                                    debugLog("GPGS - Already signed in.");
-                                } else {
-                                    wasSignedIn = false;
-                                    debugLog("GPGS - Not signed in.");
-                                }
-                            } else {
-                                wasSignedIn = false;
-                                handleError(task.getException(), null);
-                            }
-                        }
-                    });
+            @Override
+            public void onResume() {
+                autosaves.resume();
+            }
 
-                } catch (Exception e) {
+            @Override
+            public void onDestroy() {
+                autosaves.clear();
+                strands.clear();
+            }
+        });
+        // While Play Services is unavailable reads fail fast and autosaves wait; the fake backend needs neither.
+        availability.addListener(new AvailabilityMonitor.Listener() {
+            @Override
+            public void onAvailabilityChanged(int status, boolean available) {
+                debugLog("GPGS - Play Services " + (available ? "available." : "unavailable (" + status + ")."));
+                if (fakeBackend == null) {
+                    callGate.setServicesStatus(status);
+                    autosaves.hold(!available);
+                }
+                emitAvailabilityEvent(status);
+            }
+        });
+        lifecycle.register(availability);
+        callGate.setListener(new CallGate.Listener() {
+            @Override
+            public void onBreakerStateChanged(@NonNull CallGate.Family family, @NonNull CircuitBreaker.State state) {
+                try {
+                    JSONObject payload = new JSONObject();
+                    payload.put("family", family.jsonName);
+                    payload.put("state", state.jsonName);
+                    emitWindowEvent(EVENT_CIRCUIT, payload);
+                } catch (JSONException e) {
                     handleError(e, null);
                 }
             }
         });
+
+        startupReport = startStartupPipeline(true, startupRequested.getTask());
+    }
+
+    @Override
+    public void onPause(boolean multitasking) {
+        super.onPause(multitasking);
+        try {
+            lifecycle.pause();
+        } catch (RuntimeException e) {
+            handleError(e, null);
+        }
     }
 
+    @Override
+    public void onDestroy() {
+        try {
+            lifecycle.destroy();
+        } catch (RuntimeException e) {
+            handleError(e, null);
+        }
+        super.onDestroy();
+    }
 
     @Override
     public void onResume(boolean multitasking) {
         super.onResume(multitasking);
+        try {
+            lifecycle.resume();
+        } catch (RuntimeException e) {
+            handleError(e, null);
+        }
         // Try to sign in silently on resume.
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                GamesSignInClient signInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                signInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                GamesClients.SignIn signInClient = clients.signIn();
+                signInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<Boolean>() {
                     @Override
-                    public void onComplete(@NonNull Task<AuthenticationResult> task) {
+                    public void onComplete(@NonNull Task<Boolean> task) {
                         if (task.isSuccessful()) {
-                            boolean isAuthenticated = task.getResult().isAuthenticated();
+                            boolean isAuthenticated = task.getResult();
                             if (!wasSignedIn && isAuthenticated) {
                                 wasSignedIn = true;
                                 emitSignInEvent(true);
                                 debugLog("GPGS - Signed in on resume.");
+                                startWarmup("resume");
                             } else if (wasSignedIn && !isAuthenticated) {
                                 wasSignedIn = false;
+                                hotData.clear();
+                                playerCache.clear();
+                                eventCatalogue.clear();
+                                friendStore.clear();
                                 emitSignOutEvent("background_signout");
                                 debugLog("GPGS - Signed out on resume.");
                             }
@@ -194,9 +383,43 @@ public class GPGS extends CordovaPlugin {
     }
 
     @Override
-    public boolean execute(String action, JSONArray args, final CallbackContext callbackContext) throws JSONException {
+    public boolean execute(String action, JSONArray args, CallbackContext callbackContext) throws JSONException {
         debugLog("Executing action: " + action);
 
+        CallDeadlines.Control control = CallDeadlines.extract(args);
+        if (control != null) {
+            args = CallDeadlines.strip(args);
+        }
+        if (traceRecorder.isRecording()) {
+            callbackContext = traceRecorder.track(action, args, callbackContext, webView);
+        }
+        if (control != null) {
+            callbackContext = callDeadlines.track(control, callbackContext, webView);
+        }
+
+        CallGate.Family family = COALESCABLE_ACTIONS.get(action);
+        if (family != null && callGate.getMode(family) == CallGate.Mode.COALESCE) {
+            CallbackContext shared = callCoalescer.join(action + ":" + args.toString(), callbackContext, webView);
+            if (shared == null) {
+                callGate.recordCoalesced(family);
+                debugLog("Coalesced " + action + " with a pending identical call.");
+                return true;
+            }
+            callbackContext = shared;
+        } else if (control == null) {
+            return dispatchAction(action, args, callbackContext);
+        }
+
+        try {
+            return dispatchAction(action, args, callbackContext);
+        } catch (JSONException e) {
+            // Report through the wrapping context so deadlines and joined callers settle too.
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, e.getMessage()));
+            return true;
+        }
+    }
+
+    private boolean dispatchAction(String action, JSONArray args, final CallbackContext callbackContext) throws JSONException {
         if (action.equals("isGooglePlayServicesAvailable")) {
             this.isGooglePlayServicesAvailableAction(callbackContext);
             return true;
@@ -243,12 +466,28 @@ public class GPGS extends CordovaPlugin {
         }
 
         else if (action.equals("loadAchievements")) {
-            this.loadAchievementsAction(args.getBoolean(0), callbackContext);
+            JSONObject options = args.optJSONObject(1);
+            this.loadAchievementsAction(args.getBoolean(0), FieldMask.fromOptions(options), ColumnarEncoder.isRequested(options),
+                    DeltaTracker.isRequested(options) ? achievementsDelta.begin(options) : null, ChunkedResults.chunkSize(options), callbackContext);
             return true;
         }
 
         else if (action.equals("updatePlayerScore")) {
-            this.updatePlayerScoreAction(args.getString(0), args.getInt(1), callbackContext);
+            JSONObject options = args.optJSONObject(2);
+            this.updatePlayerScoreAction(new ScoreEntry(args.getString(0), parseScore(args.get(1)), options),
+                    options != null && options.optBoolean("immediate", false), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("submitScores")) {
+            JSONArray submissions = args.getJSONArray(0);
+            List<ScoreEntry> entries = new ArrayList<>();
+            for (int i = 0; i < submissions.length(); i++) {
+                JSONObject submission = submissions.getJSONObject(i);
+                entries.add(new ScoreEntry(submission.getString("leaderboardId"), parseScore(submission.get("score")), submission));
+            }
+            JSONObject options = args.optJSONObject(1);
+            this.submitScoresAction(entries, options != null && options.optBoolean("immediate", false), callbackContext);
             return true;
         }
 
@@ -267,21 +506,28 @@ public class GPGS extends CordovaPlugin {
             return true;
         }
 
+        else if (action.equals("loadTopScoresForMany")) {
+            this.loadTopScoresForManyAction(args.getJSONArray(0), args.optJSONObject(1), callbackContext);
+            return true;
+        }
+
         else if (action.equals("loadTopScores")) {
-            this.loadTopScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), callbackContext);
+            JSONObject options = args.optJSONObject(4);
+            this.loadTopScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), FieldMask.fromOptions(options), ColumnarEncoder.isRequested(options), ChunkedResults.chunkSize(options), callbackContext);
             return true;
         }
 
         else if (action.equals("loadPlayerCenteredScores")) {
-            this.loadPlayerCenteredScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), callbackContext);
+            JSONObject options = args.optJSONObject(4);
+            this.loadPlayerCenteredScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), FieldMask.fromOptions(options), ColumnarEncoder.isRequested(options), ChunkedResults.chunkSize(options), callbackContext);
             return true;
         }
 
         else if (action.equals("loadLeaderboardMetadata")) {
-            if (args.length() > 0) {
+            if (args.length() > 0 && !args.isNull(0)) {
                 this.loadLeaderboardMetadataAction(args.getString(0), callbackContext);
             } else {
-                this.loadAllLeaderboardsMetadataAction(callbackContext);
+                this.loadAllLeaderboardsMetadataAction(FieldMask.fromOptions(args.optJSONObject(1)), callbackContext);
             }
             return true;
         }
@@ -292,7 +538,7 @@ public class GPGS extends CordovaPlugin {
         }
 
         else if (action.equals("saveGame")) {
-            this.saveGameAction(args.getString(0), args.getString(1), args.getJSONObject(2), callbackContext);
+            this.saveGameAction(parseSave(args, callbackContext), callbackContext);
             return true;
         }
 
@@ -307,12 +553,18 @@ public class GPGS extends CordovaPlugin {
         }
 
         else if (action.equals("loadAllSnapshots")) {
-            this.loadAllSnapshotsAction(args.getBoolean(0), callbackContext);
+            JSONObject options = args.optJSONObject(1);
+            this.loadAllSnapshotsAction(args.getBoolean(0), FieldMask.fromOptions(options), ColumnarEncoder.isRequested(options), ChunkedResults.chunkSize(options), callbackContext);
             return true;
         }
 
         else if (action.equals("getFriendsList")) {
-            this.getFriendsListAction(callbackContext);
+            JSONObject options = args.optJSONObject(0);
+            int pageSize = options != null ? options.optInt("pageSize", DEFAULT_FRIENDS_PAGE_SIZE) : DEFAULT_FRIENDS_PAGE_SIZE;
+            this.getFriendsListAction(FieldMask.fromOptions(options), pageSize > 0 ? pageSize : DEFAULT_FRIENDS_PAGE_SIZE,
+                    options != null && options.optBoolean("forceReload", false),
+                    DeltaTracker.isRequested(options) ? friendsDelta.begin(options) : null,
+                    ChunkedResults.chunkSize(options), callbackContext);
             return true;
         }
 
@@ -331,13 +583,32 @@ public class GPGS extends CordovaPlugin {
             return true;
         }
 
+        else if (action.equals("getPlayers")) {
+            this.getPlayersAction(args.getJSONArray(0), args.optBoolean(1, false), FieldMask.fromOptions(args.optJSONObject(2)), callbackContext);
+            return true;
+        }
+
         else if (action.equals("getAllEvents")) {
-            this.getAllEventsAction(callbackContext);
+            JSONObject options = args.optJSONObject(0);
+            this.getAllEventsAction(FieldMask.fromOptions(options),
+                    DeltaTracker.isRequested(options) ? eventsDelta.begin(options) : null,
+                    EventCatalogue.Freshness.fromOptions(options, EventCatalogue.Freshness.NETWORK),
+                    options != null ? options.optLong("maxAgeMillis", -1) : -1, ChunkedResults.chunkSize(options), callbackContext);
             return true;
         }
 
         else if (action.equals("getEvent")) {
-            this.getEventAction(args.getString(0), callbackContext);
+            JSONObject options = args.optJSONObject(1);
+            this.getEventAction(args.getString(0), EventCatalogue.Freshness.fromOptions(options, EventCatalogue.Freshness.NETWORK),
+                    options != null ? options.optLong("maxAgeMillis", -1) : -1, callbackContext);
+            return true;
+        }
+
+        else if (action.equals("getEvents")) {
+            JSONObject options = args.optJSONObject(1);
+            this.getEventsAction(args.getJSONArray(0), FieldMask.fromOptions(options),
+                    EventCatalogue.Freshness.fromOptions(options, EventCatalogue.Freshness.CACHE),
+                    options != null ? options.optLong("maxAgeMillis", -1) : -1, callbackContext);
             return true;
         }
 
@@ -346,11 +617,85 @@ public class GPGS extends CordovaPlugin {
             return true;
         }
 
+        else if (action.equals("configureWarmup")) {
+            this.configureWarmupAction(args.optJSONObject(0), callbackContext);
+            return true;
+        }
+
         else if (action.equals("incrementEvent")) {
             this.incrementEventAction(args.getString(0), args.getInt(1), callbackContext);
             return true;
         }
 
+        else if (action.equals("loadImage")) {
+            JSONObject options = args.optJSONObject(1);
+            this.loadImageAction(args.getString(0), options != null ? options.optInt("maxSize", 0) : 0,
+                    options != null && "bytes".equals(options.optString("as", null)), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("clearImageCache")) {
+            this.clearImageCacheAction(callbackContext);
+            return true;
+        }
+
+        else if (action.equals("getCallStats")) {
+            this.getCallStatsAction(callbackContext);
+            return true;
+        }
+
+        else if (action.equals("cancel")) {
+            this.cancelAction(args.getString(0), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("configureRateLimits")) {
+            this.configureRateLimitsAction(args.getJSONObject(0), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("configureFakeBackend")) {
+            this.configureFakeBackendAction(args.optJSONObject(0), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("runBenchmarks")) {
+            this.runBenchmarksAction(args.optJSONObject(0), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("startTraceRecording")) {
+            this.startTraceRecordingAction(callbackContext);
+            return true;
+        }
+
+        else if (action.equals("stopTraceRecording")) {
+            this.stopTraceRecordingAction(callbackContext);
+            return true;
+        }
+
+        else if (action.equals("replayTrace")) {
+            this.replayTraceAction(args.getJSONObject(0), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("configureAutosave")) {
+            JSONObject options = args.optJSONObject(0);
+            this.configureAutosaveAction(options != null ? options : new JSONObject(), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("configureAvailabilityMonitor")) {
+            JSONObject options = args.optJSONObject(0);
+            this.configureAvailabilityMonitorAction(options != null ? options : new JSONObject(), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("autosave")) {
+            autosaves.submit(parseSave(args, callbackContext));
+            return true;
+        }
+
         return false;
     }
 
@@ -374,42 +719,115 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void signInSilently() {
-        // Sign-in client.
-        cordova.getThreadPool().execute(new Runnable() {
+    /**
+     * Builds the startup graph: SDK initialisation and the availability check run side by side; one
+     * {@code isAuthenticated} check follows the SDK; a single {@code signIn} attempt runs only if that check
+     * fails and {@code signInAllowed} has completed; warmup starts as soon as either reports a player. The
+     * report, with the sign-in and availability outcome and per-stage timings, answers {@code initialize}.
+     * Only the {@code initial} pass, started at plugin load, has an {@code sdk} stage.
+     */
+    private Task<JSONObject> startStartupPipeline(boolean initial, Task<?> signInAllowed) {
+        final Executor executor = cordova.getThreadPool();
+        final StartupPipeline startup = new StartupPipeline(executor);
+        final Task<Void> sdk = initial ? startup.stage("sdk", new StartupPipeline.Stage<Void>() {
             @Override
-            public void run() {
-                GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                gamesSignInClient.signIn().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
-                    @Override
-                    public void onComplete(@NonNull Task<AuthenticationResult> task) {
-                        if (task.isSuccessful()) {
-                            wasSignedIn = true;
-                            emitSignInEvent(true);
-                            debugLog("GPGS - Sign in successful (silently).");
-                        } else {
-                            Exception e = task.getException();
-                            if (e instanceof ApiException && ((ApiException) e).getStatusCode() == com.google.android.gms.common.api.CommonStatusCodes.SIGN_IN_REQUIRED) {
-                                debugLog("GPGS - Silent sign in failed, needs manual sign in.");
-                            }
-                            // Always notify listeners about the failed attempt
-                            try {
-                                JSONObject payload = new JSONObject();
-                                payload.put("isSignedIn", false);
-                                if (e != null) payload.put("error", e.getMessage());
-                                emitWindowEvent(EVENT_SIGN_IN, payload);
-                            } catch (JSONException ignored) {}
+            public Task<Void> start() {
+                if (fakeBackend == null) {
+                    PlayGamesSdk.initialize(cordova.getActivity());
+                }
+                serverClientId = getStringResource("server_client_id");
+                if (serverClientId != null && serverClientId.trim().isEmpty()) {
+                    serverClientId = null;
+                }
+                return Tasks.forResult(null);
+            }
+        }) : Tasks.<Void>forResult(null);
+        final Task<Boolean> available = startup.stage("availability", new StartupPipeline.Stage<Boolean>() {
+            @Override
+            public Task<Boolean> start() {
+                return Tasks.forResult(availability.refresh() == ConnectionResult.SUCCESS);
+            }
+        });
+        final Task<Boolean> authenticated = startup.stage("auth", new StartupPipeline.Stage<Boolean>() {
+            @Override
+            public Task<Boolean> start() throws Exception {
+                if (!sdk.isSuccessful()) {
+                    throw sdk.getException();
+                }
+                return clients.signIn().isAuthenticated();
+            }
+        }, sdk);
+        final Task<Boolean> signIn = startup.stage("signIn", new StartupPipeline.Stage<Boolean>() {
+            @Override
+            public Task<Boolean> start() {
+                if (isTrue(authenticated)) {
+                    return null;
+                }
+                return clients.signIn().signIn();
+            }
+        }, authenticated, signInAllowed);
+        final Task<Boolean> signedIn = authenticated.continueWithTask(executor, new Continuation<Boolean, Task<Boolean>>() {
+            @Override
+            public Task<Boolean> then(@NonNull Task<Boolean> task) {
+                return isTrue(task) ? task : signIn;
+            }
+        });
+        signedIn.addOnCompleteListener(executor, new OnCompleteListener<Boolean>() {
+            @Override
+            public void onComplete(@NonNull Task<Boolean> task) {
+                onStartupSignIn(task, isTrue(authenticated));
+            }
+        });
+        startup.stage("warmup", new StartupPipeline.Stage<List<Task<?>>>() {
+            @Override
+            public Task<List<Task<?>>> start() {
+                return isTrue(signedIn) ? startWarmup("initialize") : null;
+            }
+        }, signedIn);
 
-                            if (e != null && !(e instanceof ApiException && ((ApiException) e).getStatusCode() == com.google.android.gms.common.api.CommonStatusCodes.SIGN_IN_REQUIRED)) {
-                                handleError(e, null);
-                            }
-                        }
-                    }
-                });
+        // The report waits for the signIn stage, which waits for initialize; it is only read from there.
+        return startup.report().continueWith(executor, new Continuation<JSONObject, JSONObject>() {
+            @Override
+            public JSONObject then(@NonNull Task<JSONObject> task) throws Exception {
+                JSONObject report = task.getResult();
+                report.put("isSignedIn", isTrue(signedIn));
+                report.put("isAvailable", isTrue(available));
+                return report;
             }
         });
     }
 
+    private static boolean isTrue(Task<Boolean> task) {
+        return task.isSuccessful() && Boolean.TRUE.equals(task.getResult());
+    }
+
+    private void onStartupSignIn(Task<Boolean> task, boolean alreadyAuthenticated) {
+        if (isTrue(task)) {
+            wasSignedIn = true;
+            emitSignInEvent(true);
+            debugLog(alreadyAuthenticated ? "GPGS - Already signed in." : "GPGS - Sign in successful (silently).");
+            return;
+        }
+        wasSignedIn = false;
+        Exception e = task.getException();
+        boolean signInRequired = e == null
+                || (e instanceof ApiException && ((ApiException) e).getStatusCode() == com.google.android.gms.common.api.CommonStatusCodes.SIGN_IN_REQUIRED);
+        if (signInRequired) {
+            debugLog("GPGS - Silent sign in failed, needs manual sign in.");
+        }
+        // Always notify listeners about the failed attempt
+        try {
+            JSONObject payload = new JSONObject();
+            payload.put("isSignedIn", false);
+            if (e != null) payload.put("error", e.getMessage());
+            emitWindowEvent(EVENT_SIGN_IN, payload);
+        } catch (JSONException ignored) {}
+
+        if (!signInRequired) {
+            handleError(e, null);
+        }
+    }
+
     private void loginAction(JSONArray args, final CallbackContext callbackContext) {
         final String overrideServerClientId = args != null ? args.optString(0, null) : null;
         if (overrideServerClientId != null && !overrideServerClientId.trim().isEmpty()) {
@@ -424,22 +842,24 @@ public class GPGS extends CordovaPlugin {
             @Override
             public void run() {
                 try {
-                    final GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
+                    final GamesClients.SignIn gamesSignInClient = clients.signIn();
 
-                    gamesSignInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                    gamesSignInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<Boolean>() {
                         @Override
-                        public void onComplete(@NonNull Task<AuthenticationResult> authTask) {
-                            if (authTask.isSuccessful() && authTask.getResult().isAuthenticated()) {
+                        public void onComplete(@NonNull Task<Boolean> authTask) {
+                            if (authTask.isSuccessful() && authTask.getResult()) {
                                 wasSignedIn = true;
+                                startWarmup("login");
                                 deliverSignInPayload(callbackContext);
                                 return;
                             }
 
-                            gamesSignInClient.signIn().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                            gamesSignInClient.signIn().addOnCompleteListener(new OnCompleteListener<Boolean>() {
                                 @Override
-                                public void onComplete(@NonNull Task<AuthenticationResult> task) {
+                                public void onComplete(@NonNull Task<Boolean> task) {
                                     if (task.isSuccessful()) {
                                         wasSignedIn = true;
+                                        startWarmup("login");
                                         deliverSignInPayload(callbackContext);
                                     } else {
                                         handleError(task.getException(), callbackContext);
@@ -458,7 +878,8 @@ public class GPGS extends CordovaPlugin {
     private void unlockAchievementAction(String achievementId, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).unlock(achievementId);
+                clients.achievements().unlock(achievementId);
+                hotData.invalidateAchievements();
                 callbackContext.success();
             }
         });
@@ -467,7 +888,8 @@ public class GPGS extends CordovaPlugin {
     private void incrementAchievementAction(String achievementId, Integer count, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).increment(achievementId, count);
+                clients.achievements().increment(achievementId, count);
+                hotData.invalidateAchievements();
                 callbackContext.success();
             }
         });
@@ -477,7 +899,7 @@ public class GPGS extends CordovaPlugin {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity())
+                clients.achievements()
                         .getAchievementsIntent()
                         .addOnSuccessListener(new OnSuccessListener<Intent>() {
                             @Override
@@ -500,7 +922,8 @@ public class GPGS extends CordovaPlugin {
     private void revealAchievementAction(String achievementId, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).reveal(achievementId);
+                clients.achievements().reveal(achievementId);
+                hotData.invalidateAchievements();
                 callbackContext.success();
             }
         });
@@ -509,33 +932,38 @@ public class GPGS extends CordovaPlugin {
     private void setStepsInAchievementAction(String achievementId, int count, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).setSteps(achievementId, count);
+                clients.achievements().setSteps(achievementId, count);
+                hotData.invalidateAchievements();
                 callbackContext.success();
             }
         });
     }
 
-    private void loadAchievementsAction(boolean forceReload, final CallbackContext callbackContext) {
+    private void loadAchievementsAction(boolean forceReload, final FieldMask mask, final boolean columnar, @Nullable final DeltaTracker.Sync delta, final int chunkSize, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity())
-                        .load(forceReload)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<AchievementBuffer>>() {
+                List<Achievement> cached = forceReload ? null : hotData.getAchievements();
+                if (cached != null) {
+                    try {
+                        deliverAchievements(cached, null, cached.size(), mask, columnar, delta, chunkSize, callbackContext);
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    return;
+                }
+
+                callGate.call(CallGate.Family.ACHIEVEMENTS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.Records<Achievement>>() {
+                    @Override
+                    public Task<GamesClients.Records<Achievement>> start() {
+                        return clients.achievements().load(forceReload);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<GamesClients.Records<Achievement>>() {
                             @Override
-                            public void onSuccess(AnnotatedData<AchievementBuffer> data) {
-                                AchievementBuffer achievementBuffer = data.get();
-                                if (achievementBuffer == null) {
-                                    callbackContext.success(new JSONArray());
-                                    return;
-                                }
+                            public void onSuccess(GamesClients.Records<Achievement> achievements) {
                                 try {
-                                    JSONArray result = new JSONArray();
-                                    for (Achievement achievement : achievementBuffer) {
-                                        result.put(convertAchievementToJson(achievement));
-                                    }
-                                    achievementBuffer.release();
-                                    callbackContext.success(result);
+                                    deliverAchievements(achievements, achievements, achievements.getCount(), mask, columnar, delta, chunkSize, callbackContext);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -551,34 +979,99 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void updatePlayerScoreAction(String leaderboardId, Integer score, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
-            public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity()).submitScore(leaderboardId, score);
-                callbackContext.success();
+    /**
+     * Sends achievements in the requested shape and releases {@code owner}, the buffer they were read from.
+     */
+    private void deliverAchievements(Iterable<Achievement> achievements, @Nullable Releasable owner, int count, final FieldMask mask, boolean columnar,
+                                     @Nullable DeltaTracker.Sync delta, int chunkSize, CallbackContext callbackContext) throws JSONException {
+        if (delta != null || columnar) {
+            try {
+                if (delta != null) {
+                    callbackContext.success(convertAchievementsDeltaToJson(achievements, delta, mask));
+                } else {
+                    ColumnarEncoder encoder = new ColumnarEncoder(count);
+                    for (Achievement achievement : achievements) {
+                        appendAchievementRow(encoder, achievement, mask);
+                    }
+                    callbackContext.success(encoder.encode());
+                }
+            } finally {
+                ChunkedResults.release(owner);
+            }
+            return;
+        }
+        ChunkedResults.send(achievements, owner, chunkSize, null, null, new ChunkedResults.Converter<Achievement>() {
+            @Override
+            public Object convert(@NonNull Achievement achievement) throws JSONException {
+                return convertAchievementToJson(achievement, mask);
+            }
+        }, callbackContext);
+    }
+
+    /** One score for one leaderboard, with the optional {@code scoreTag} of its options. */
+    private static class ScoreEntry {
+        @NonNull
+        final String leaderboardId;
+        final long score;
+        @Nullable
+        final String scoreTag;
+
+        ScoreEntry(@NonNull String leaderboardId, long score, @Nullable JSONObject options) {
+            this.leaderboardId = leaderboardId;
+            this.score = score;
+            this.scoreTag = options != null && !options.isNull("scoreTag") ? options.optString("scoreTag") : null;
+        }
+    }
+
+    /**
+     * Reads a score without truncating it: integral numbers and decimal strings (for values beyond
+     * the 2^53 a JS number holds exactly) are accepted.
+     */
+    private static long parseScore(Object value) throws JSONException {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Number) {
+            double score = ((Number) value).doubleValue();
+            if (score != Math.rint(score) || Math.abs(score) >= 0x1p63) {
+                throw new JSONException("Score " + value + " is not a whole number.");
+            }
+            return (long) score;
+        }
+        try {
+            return Long.parseLong(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new JSONException("Score " + value + " is not a whole number.");
+        }
+    }
+
+    private Task<GamesClients.ScoreSubmission> submitScoreImmediate(final ScoreEntry entry) {
+        return callGate.callOnce(CallGate.Family.LEADERBOARDS, new CallGate.Call<GamesClients.ScoreSubmission>() {
+            @Override
+            public Task<GamesClients.ScoreSubmission> start() {
+                return clients.leaderboards().submitScoreImmediate(entry.leaderboardId, entry.score, entry.scoreTag);
             }
         });
     }
 
-    private void loadPlayerScoreAction(String leaderboardId, final CallbackContext callbackContext) {
+    /**
+     * Submits a score. With {@code immediate} the submission waits for the server and answers with
+     * the per-time-span outcome, so showing the new rank or best needs no follow-up load.
+     */
+    private void updatePlayerScoreAction(final ScoreEntry entry, boolean immediate, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
-            @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadCurrentPlayerLeaderboardScore(leaderboardId, LeaderboardVariant.TIME_SPAN_ALL_TIME, LeaderboardVariant.COLLECTION_PUBLIC)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardScore>>() {
+                if (!immediate) {
+                    clients.leaderboards().submitScore(entry.leaderboardId, entry.score, entry.scoreTag);
+                    callbackContext.success();
+                    return;
+                }
+                submitScoreImmediate(entry)
+                        .addOnSuccessListener(new OnSuccessListener<GamesClients.ScoreSubmission>() {
                             @Override
-                            public void onSuccess(AnnotatedData<LeaderboardScore> scoreData) {
-                                if (scoreData == null || scoreData.get() == null) {
-                                    callbackContext.error("No score found.");
-                                    return;
-                                }
+                            public void onSuccess(GamesClients.ScoreSubmission submission) {
                                 try {
-                                    LeaderboardScore score = scoreData.get();
-                                    JSONObject result = new JSONObject();
-                                    result.put("player_score", score.getRawScore());
-                                    result.put("player_rank", score.getRank());
-                                    callbackContext.success(result);
+                                    callbackContext.success(convertScoreSubmissionToJson(submission));
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -594,17 +1087,113 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void showLeaderboardAction(String leaderboardId, final CallbackContext callbackContext) {
+    /**
+     * Submits several scores at once. Without {@code immediate} they are handed to Play Games to send in
+     * the background. With it they are submitted concurrently and the answer lists, in input order,
+     * each outcome or error, plus the number of failures.
+     */
+    private void submitScoresAction(final List<ScoreEntry> entries, final boolean immediate, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
+            @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .getLeaderboardIntent(leaderboardId)
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
-                            @Override
-                            public void onSuccess(Intent intent) {
-                                cordova.setActivityResultCallback(GPGS.this);
-                                cordova.getActivity().startActivityForResult(intent, RC_LEADERBOARD_UI);
-                                callbackContext.success();
+                if (!immediate) {
+                    for (ScoreEntry entry : entries) {
+                        clients.leaderboards().submitScore(entry.leaderboardId, entry.score, entry.scoreTag);
+                    }
+                    try {
+                        JSONObject result = new JSONObject();
+                        result.put("submitted", entries.size());
+                        callbackContext.success(result);
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    return;
+                }
+
+                final List<Task<GamesClients.ScoreSubmission>> submissions = new ArrayList<>();
+                for (ScoreEntry entry : entries) {
+                    submissions.add(submitScoreImmediate(entry));
+                }
+                Tasks.whenAllComplete(submissions).addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<List<Task<?>>>() {
+                    @Override
+                    public void onComplete(@NonNull Task<List<Task<?>>> task) {
+                        try {
+                            JSONArray results = new JSONArray();
+                            int failed = 0;
+                            for (int i = 0; i < submissions.size(); i++) {
+                                Task<GamesClients.ScoreSubmission> submission = submissions.get(i);
+                                if (submission.isSuccessful()) {
+                                    results.put(convertScoreSubmissionToJson(submission.getResult()));
+                                } else {
+                                    failed++;
+                                    JSONObject result = new JSONObject();
+                                    result.put("leaderboardId", entries.get(i).leaderboardId);
+                                    result.put("error", errorToJson(submission.getException()));
+                                    results.put(result);
+                                }
+                            }
+                            JSONObject result = new JSONObject();
+                            result.put("results", results);
+                            result.put("failed", failed);
+                            callbackContext.success(result);
+                        } catch (JSONException e) {
+                            handleError(e, callbackContext);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void loadPlayerScoreAction(String leaderboardId, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                callGate.call(CallGate.Family.LEADERBOARDS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<LeaderboardScore>() {
+                    @Override
+                    public Task<LeaderboardScore> start() {
+                        return clients.leaderboards()
+                                .loadCurrentPlayerLeaderboardScore(leaderboardId, LeaderboardVariant.TIME_SPAN_ALL_TIME, LeaderboardVariant.COLLECTION_PUBLIC);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<LeaderboardScore>() {
+                            @Override
+                            public void onSuccess(LeaderboardScore score) {
+                                if (score == null) {
+                                    callbackContext.error("No score found.");
+                                    return;
+                                }
+                                try {
+                                    JSONObject result = new JSONObject();
+                                    result.put("player_score", score.getRawScore());
+                                    result.put("player_rank", score.getRank());
+                                    callbackContext.success(result);
+                                } catch (JSONException e) {
+                                    handleError(e, callbackContext);
+                                }
+                            }
+                        })
+                        .addOnFailureListener(new OnFailureListener() {
+                            @Override
+                            public void onFailure(@NonNull Exception e) {
+                                handleError(e, callbackContext);
+                            }
+                        });
+            }
+        });
+    }
+
+    private void showLeaderboardAction(String leaderboardId, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            public void run() {
+                clients.leaderboards()
+                        .getLeaderboardIntent(leaderboardId)
+                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                            @Override
+                            public void onSuccess(Intent intent) {
+                                cordova.setActivityResultCallback(GPGS.this);
+                                cordova.getActivity().startActivityForResult(intent, RC_LEADERBOARD_UI);
+                                callbackContext.success();
                             }
                         })
                         .addOnFailureListener(new OnFailureListener() {
@@ -621,7 +1210,7 @@ public class GPGS extends CordovaPlugin {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
+                clients.leaderboards()
                         .getAllLeaderboardsIntent()
                         .addOnSuccessListener(new OnSuccessListener<Intent>() {
                             @Override
@@ -645,7 +1234,7 @@ public class GPGS extends CordovaPlugin {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
+                GamesClients.Snapshots snapshotsClient = clients.snapshots();
                 snapshotsClient.getSelectSnapshotIntent(title, allowAddButton, allowDelete, numberOfSavedGames)
                         .addOnSuccessListener(new OnSuccessListener<Intent>() {
                             @Override
@@ -665,37 +1254,69 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void saveGameAction(String snapshotName, String snapshotDescription, JSONObject snapshotContents, final CallbackContext callbackContext) {
+    /** The arguments shared by {@code saveGame} and {@code autosave}. */
+    private static AutosaveScheduler.Save parseSave(JSONArray args, CallbackContext callbackContext) throws JSONException {
+        JSONObject options = args.optJSONObject(3);
+        String coverImagePath = options != null ? options.optString("coverImagePath", null) : null;
+        // ArrayBuffers arrive base64-encoded; a replayed trace has a length placeholder here instead.
+        Object coverImage = args.opt(4);
+        byte[] coverImageBytes = coverImage instanceof String ? Base64.decode((String) coverImage, Base64.DEFAULT) : null;
+        return new AutosaveScheduler.Save(args.getString(0), args.getString(1), args.getJSONObject(2),
+                coverImagePath, coverImageBytes, callbackContext);
+    }
+
+    /**
+     * Opens, writes and commits a snapshot. The open is part of the write, so it goes out once and is not
+     * held back while the app is paused; a save started just before the app is killed still reaches the server.
+     */
+    private void saveGameAction(final AutosaveScheduler.Save save, final CallbackContext callbackContext) {
+        final byte[] bytes = encodeSnapshot(save.contents);
+        strands.save(save.snapshotName, bytes, callbackContext, new SnapshotStrands.Operation() {
+            @Override
+            public void start(@NonNull CallbackContext strandContext) {
+                writeSnapshot(save, bytes, strandContext);
+            }
+        });
+    }
+
+    private void writeSnapshot(final AutosaveScheduler.Save save, final byte[] bytes, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
-                snapshotsClient.open(snapshotName, true)
-                        .addOnSuccessListener(new OnSuccessListener<SnapshotsClient.DataOrConflict<Snapshot>>() {
+                final GamesClients.Snapshots snapshotsClient = clients.snapshots();
+                final String snapshotName = save.snapshotName;
+                final String snapshotDescription = save.description;
+                // Decode the cover while the snapshot is being opened rather than after it.
+                final Task<Bitmap> coverImage = save.coverImagePath != null || save.coverImageBytes != null
+                        ? coverImages.prepare(save.coverImagePath, save.coverImageBytes)
+                        : null;
+                callGate.callOnce(CallGate.Family.SNAPSHOTS, new CallGate.Call<Snapshot>() {
+                    @Override
+                    public Task<Snapshot> start() {
+                        return snapshotsClient.open(snapshotName, true);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<Snapshot>() {
                             @Override
-                            public void onSuccess(SnapshotsClient.DataOrConflict<Snapshot> dataOrConflict) {
-                                if (dataOrConflict.isConflict()) {
-                                    // Handle conflict
-                                    callbackContext.error("Snapshot conflict.");
+                            public void onSuccess(final Snapshot snapshot) {
+                                snapshot.getSnapshotContents().writeBytes(bytes);
+                                final SnapshotMetadataChange.Builder metadataChange = new SnapshotMetadataChange.Builder()
+                                        .setDescription(snapshotDescription);
+                                if (coverImage == null) {
+                                    commitSnapshot(snapshotsClient, snapshot, metadataChange.build(), callbackContext);
                                     return;
                                 }
-                                Snapshot snapshot = dataOrConflict.getData();
-                                snapshot.getSnapshotContents().writeBytes(snapshotContents.toString().getBytes(StandardCharsets.UTF_8));
-                                SnapshotMetadataChange metadataChange = new SnapshotMetadataChange.Builder()
-                                        .setDescription(snapshotDescription)
-                                        .build();
-                                snapshotsClient.commitAndClose(snapshot, metadataChange)
-                                        .addOnSuccessListener(new OnSuccessListener<SnapshotMetadata>() {
-                                            @Override
-                                            public void onSuccess(SnapshotMetadata snapshotMetadata) {
-                                                callbackContext.success();
-                                            }
-                                        })
-                                        .addOnFailureListener(new OnFailureListener() {
-                                            @Override
-                                            public void onFailure(@NonNull Exception e) {
-                                                handleError(e, callbackContext);
-                                            }
-                                        });
+                                coverImage.addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<Bitmap>() {
+                                    @Override
+                                    public void onComplete(@NonNull Task<Bitmap> task) {
+                                        if (task.isSuccessful()) {
+                                            metadataChange.setCoverImage(task.getResult());
+                                        } else {
+                                            // The save matters more than its picture; commit without it.
+                                            debugLog("GPGS - saveGame cover image skipped", task.getException());
+                                        }
+                                        commitSnapshot(snapshotsClient, snapshot, metadataChange.build(), callbackContext);
+                                    }
+                                });
                             }
                         })
                         .addOnFailureListener(new OnFailureListener() {
@@ -708,15 +1329,75 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void loadGameSaveAction(String snapshotName, final CallbackContext callbackContext) {
+    /** Commits an opened snapshot; if that fails the snapshot is discarded so it does not stay open. */
+    private void commitSnapshot(final GamesClients.Snapshots snapshotsClient, final Snapshot snapshot,
+                                final SnapshotMetadataChange metadataChange, final CallbackContext callbackContext) {
+        callGate.callInTransaction(CallGate.Family.SNAPSHOTS, new CallGate.Call<SnapshotMetadata>() {
+            @Override
+            public Task<SnapshotMetadata> start() {
+                return snapshotsClient.commitAndClose(snapshot, metadataChange);
+            }
+        })
+                .addOnSuccessListener(new OnSuccessListener<SnapshotMetadata>() {
+                    @Override
+                    public void onSuccess(SnapshotMetadata snapshotMetadata) {
+                        hotData.snapshots().put(snapshotMetadata);
+                        callbackContext.success();
+                    }
+                })
+                .addOnFailureListener(new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        discardSnapshot(snapshotsClient, snapshot);
+                        handleError(e, callbackContext);
+                    }
+                });
+    }
+
+    private void discardSnapshot(GamesClients.Snapshots snapshotsClient, Snapshot snapshot) {
+        try {
+            snapshotsClient.discardAndClose(snapshot);
+        } catch (RuntimeException e) {
+            // Already closed by the failed commit.
+            debugLog("GPGS - discardAndClose skipped", e);
+        }
+    }
+
+    private void loadGameSaveAction(final String snapshotName, final CallbackContext callbackContext) {
+        // A save that has not reached the server yet is newer than anything the server can return.
+        JSONObject debounced = autosaves.pending(snapshotName);
+        byte[] pending = debounced == null ? strands.pendingSave(snapshotName) : null;
+        if (debounced != null || pending != null) {
+            try {
+                callbackContext.success(debounced != null ? debounced : decodeSnapshot(pending));
+            } catch (JSONException e) {
+                handleError(e, callbackContext);
+            }
+            return;
+        }
+        strands.run(snapshotName, callbackContext, new SnapshotStrands.Operation() {
+            @Override
+            public void start(@NonNull CallbackContext strandContext) {
+                readSnapshot(snapshotName, strandContext);
+            }
+        });
+    }
+
+    private void readSnapshot(final String snapshotName, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
-                snapshotsClient.open(snapshotName, false)
-                        .continueWith(new Continuation<SnapshotsClient.DataOrConflict<Snapshot>, byte[]>() {
+                final GamesClients.Snapshots snapshotsClient = clients.snapshots();
+                // Saves of the same name queue behind this load, so it must not wait for the app to resume.
+                callGate.callUnparked(CallGate.Family.SNAPSHOTS, new CallGate.Call<Snapshot>() {
+                    @Override
+                    public Task<Snapshot> start() {
+                        return snapshotsClient.open(snapshotName, false);
+                    }
+                })
+                        .continueWith(new Continuation<Snapshot, byte[]>() {
                             @Override
-                            public byte[] then(@NonNull Task<SnapshotsClient.DataOrConflict<Snapshot>> task) throws Exception {
-                                Snapshot snapshot = task.getResult().getData();
+                            public byte[] then(@NonNull Task<Snapshot> task) throws Exception {
+                                Snapshot snapshot = task.getResult();
                                 return snapshot.getSnapshotContents().readFully();
                             }
                         })
@@ -725,7 +1406,7 @@ public class GPGS extends CordovaPlugin {
                             public void onComplete(@NonNull Task<byte[]> task) {
                                 if (task.isSuccessful()) {
                                     try {
-                                        JSONObject result = new JSONObject(new String(task.getResult(), StandardCharsets.UTF_8));
+                                        JSONObject result = decodeSnapshot(task.getResult());
                                         callbackContext.success(result);
                                     } catch (JSONException e) {
                                         handleError(e, callbackContext);
@@ -739,49 +1420,189 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void getFriendsListAction(final CallbackContext callbackContext) {
+    /**
+     * Answers from {@link FriendStore} once the whole list has been paged in, then re-syncs it in the
+     * background. Before that, or with {@code forceReload}, pages are loaded with {@code loadFriends} and
+     * {@code loadMoreFriends} and each one is streamed as a chunk as it arrives. With a delta sync the
+     * complete list is loaded first and only friends that changed after the caller's token are sent.
+     */
+    private void getFriendsListAction(final FieldMask mask, final int pageSize, final boolean forceReload,
+                                      @Nullable final DeltaTracker.Sync delta, final int chunkSize, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
-                playersClient.loadFriends(100, false)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<PlayerBuffer>>() {
+                final FieldMask friendMask = mask.orDefault(PLAYER_SUMMARY_FIELDS);
+                List<Player> cached = forceReload ? null : friendStore.list();
+                if (cached != null) {
+                    try {
+                        if (delta != null) {
+                            callbackContext.success(convertFriendsDeltaToJson(cached, delta, friendMask));
+                        } else {
+                            ChunkedResults.send(cached, null, chunkSize, null, null, new ChunkedResults.Converter<Player>() {
+                                @Override
+                                public Object convert(@NonNull Player player) throws JSONException {
+                                    return convertPlayerToJson(player, friendMask);
+                                }
+                            }, callbackContext);
+                        }
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    syncFriends(pageSize);
+                    return;
+                }
+
+                FriendPageListener streamPages = new FriendPageListener() {
+                    @Override
+                    public void onPage(@NonNull List<Player> added, int offset) throws JSONException {
+                        JSONArray chunk = new JSONArray();
+                        for (Player player : added) {
+                            chunk.put(convertPlayerToJson(player, friendMask));
+                        }
+                        ChunkedResults.sendChunk(chunk, offset, false, callbackContext);
+                    }
+                };
+                pageFriends(pageSize, forceReload, CallDeadlines.tokenOf(callbackContext), delta == null ? streamPages : null)
+                        .addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<List<Player>>() {
                             @Override
-                            public void onSuccess(AnnotatedData<PlayerBuffer> data) {
-                                PlayerBuffer playerBuffer = data.get();
-                                if (playerBuffer == null) {
-                                    callbackContext.error("No friends found.");
+                            public void onComplete(@NonNull Task<List<Player>> task) {
+                                if (!task.isSuccessful()) {
+                                    handleError(task.getException(), callbackContext);
                                     return;
                                 }
+                                List<Player> friends = task.getResult();
                                 try {
-                                    JSONArray friends = new JSONArray();
-                                    for (Player player : playerBuffer) {
-                                        JSONObject friend = new JSONObject();
-                                        friend.put("id", player.getPlayerId());
-                                        friend.put("displayName", player.getDisplayName());
-                                        friends.put(friend);
+                                    if (delta != null) {
+                                        callbackContext.success(convertFriendsDeltaToJson(friends, delta, friendMask));
+                                    } else {
+                                        recordFriends(friends);
+                                        ChunkedResults.sendChunk(new JSONArray(), friends.size(), true, callbackContext);
                                     }
-                                    playerBuffer.release();
-                                    callbackContext.success(friends);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
                             }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                handleError(e, callbackContext);
-                            }
                         });
             }
         });
     }
 
+    /** Receives, on the thread pool, the friends each page added and their offset in the list. */
+    private interface FriendPageListener {
+        void onPage(@NonNull List<Player> added, int offset) throws JSONException;
+    }
+
+    /**
+     * Pages through the whole friend list into a new {@link FriendStore} load and publishes it. Passes
+     * run one after another: {@code loadMoreFriends} continues from the client's last page, so two
+     * passes at once would take pages from each other.
+     */
+    private synchronized Task<List<Player>> pageFriends(final int pageSize, final boolean forceReload,
+                                                        @Nullable final CancellationToken token, @Nullable final FriendPageListener listener) {
+        Task<List<Player>> pass = friendPaging.continueWithTask(cordova.getThreadPool(), new Continuation<List<Player>, Task<List<Player>>>() {
+            @Override
+            public Task<List<Player>> then(@NonNull Task<List<Player>> previous) {
+                return nextFriendPage(friendStore.begin(), 0, pageSize, forceReload, token, listener);
+            }
+        });
+        friendPaging = pass;
+        return pass;
+    }
+
+    private Task<List<Player>> nextFriendPage(final FriendStore.Load load, final int page, final int pageSize, final boolean forceReload,
+                                              @Nullable final CancellationToken token, @Nullable final FriendPageListener listener) {
+        final GamesClients.Players playersClient = clients.players();
+        Task<GamesClients.Records<Player>> loaded = page == 0
+                ? callGate.call(CallGate.Family.PLAYERS, token, new CallGate.Call<GamesClients.Records<Player>>() {
+                    @Override
+                    public Task<GamesClients.Records<Player>> start() {
+                        return playersClient.loadFriends(pageSize, forceReload);
+                    }
+                })
+                // Each loadMoreFriends advances the cursor, so a retry could skip a page.
+                : callGate.callOnce(CallGate.Family.PLAYERS, token, new CallGate.Call<GamesClients.Records<Player>>() {
+                    @Override
+                    public Task<GamesClients.Records<Player>> start() {
+                        return playersClient.loadMoreFriends(pageSize);
+                    }
+                });
+        return loaded.continueWithTask(cordova.getThreadPool(), new Continuation<GamesClients.Records<Player>, Task<List<Player>>>() {
+            @Override
+            public Task<List<Player>> then(@NonNull Task<GamesClients.Records<Player>> task) throws Exception {
+                if (!task.isSuccessful()) {
+                    throw task.getException();
+                }
+                GamesClients.Records<Player> records = task.getResult();
+                int offset = load.size();
+                int count;
+                List<Player> added;
+                try {
+                    count = records.getCount();
+                    added = load.addPage(records);
+                } finally {
+                    records.release();
+                }
+                if (listener != null && !added.isEmpty()) {
+                    listener.onPage(added, offset);
+                }
+                // A short page, or one with nobody new, is the end of the list.
+                if (count < pageSize || added.isEmpty() || page + 1 >= MAX_FRIEND_PAGES) {
+                    return Tasks.forResult(load.finish());
+                }
+                return nextFriendPage(load, page + 1, pageSize, forceReload, token, listener);
+            }
+        });
+    }
+
+    /** Re-pages the friend list in the background so the next delta sync reports what changed. */
+    private void syncFriends(final int pageSize) {
+        if (lifecycle.isPaused() || friendStore.isFresh(FRIEND_SYNC_INTERVAL_MILLIS) || !friendSyncRunning.compareAndSet(false, true)) {
+            return;
+        }
+        pageFriends(pageSize, true, null, null).addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<List<Player>>() {
+            @Override
+            public void onComplete(@NonNull Task<List<Player>> task) {
+                friendSyncRunning.set(false);
+                if (task.isSuccessful()) {
+                    recordFriends(task.getResult());
+                } else {
+                    debugLog("GPGS - Friend sync failed", task.getException());
+                }
+            }
+        });
+    }
+
+    /** Records a complete friend list in the delta tracker. */
+    private void recordFriends(List<Player> friends) {
+        DeltaTracker.Sync sync = friendsDelta.begin(null);
+        for (Player friend : friends) {
+            sync.observe(friend.getPlayerId(), friendSignature(friend));
+        }
+        sync.commit();
+    }
+
+    private JSONObject convertFriendsDeltaToJson(List<Player> friends, DeltaTracker.Sync delta, FieldMask mask) throws JSONException {
+        for (Player friend : friends) {
+            delta.observe(friend.getPlayerId(), friendSignature(friend));
+        }
+        delta.commit();
+        JSONArray changes = new JSONArray();
+        for (Player friend : friends) {
+            if (delta.shouldSend(friend.getPlayerId())) {
+                changes.put(convertPlayerToJson(friend, mask));
+            }
+        }
+        return delta.toJson(changes);
+    }
+
+    private static String friendSignature(Player friend) {
+        return friend.getDisplayName() + "|" + friend.getTitle() + "|" + friend.getIconImageUri() + "|" + friend.getHiResImageUri();
+    }
+
     private void showAnotherPlayersProfileAction(String playerId, @Nullable final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
+                GamesClients.Players playersClient = clients.players();
                 playersClient.getCompareProfileIntent(playerId)
                         .addOnSuccessListener(new OnSuccessListener<Intent>() {
                             @Override
@@ -807,7 +1628,7 @@ public class GPGS extends CordovaPlugin {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
+                GamesClients.Players playersClient = clients.players();
                 playersClient.getPlayerSearchIntent()
                         .addOnSuccessListener(new OnSuccessListener<Intent>() {
                             @Override
@@ -831,21 +1652,36 @@ public class GPGS extends CordovaPlugin {
     private void getPlayerAction(String id, Boolean forceReload, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             public void run() {
-                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
-                playersClient.loadPlayer(id, forceReload)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<Player>>() {
+                Player cached = null;
+                if (!forceReload) {
+                    cached = id.isEmpty() ? hotData.getCurrentPlayer() : playerCache.get(id);
+                }
+                if (cached != null) {
+                    try {
+                        callbackContext.success(convertPlayerToJson(cached, PLAYER_SUMMARY_FIELDS));
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    return;
+                }
+
+                final GamesClients.Players playersClient = clients.players();
+                callGate.call(CallGate.Family.PLAYERS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<Player>() {
+                    @Override
+                    public Task<Player> start() {
+                        return playersClient.loadPlayer(id, forceReload);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<Player>() {
                             @Override
-                            public void onSuccess(AnnotatedData<Player> data) {
-                                Player player = data.get();
+                            public void onSuccess(Player player) {
                                 if (player == null) {
                                     callbackContext.error("Player not found.");
                                     return;
                                 }
+                                playerCache.put(player.getPlayerId(), player.freeze());
                                 try {
-                                    JSONObject result = new JSONObject();
-                                    result.put("id", player.getPlayerId());
-                                    result.put("displayName", player.getDisplayName());
-                                    callbackContext.success(result);
+                                    callbackContext.success(convertPlayerToJson(player, PLAYER_SUMMARY_FIELDS));
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -861,36 +1697,199 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void getAllEventsAction(final CallbackContext callbackContext) {
+    /**
+     * Resolves several players in one call. Cached profiles are used unless {@code forceReload} is set;
+     * the misses are loaded concurrently. The result keeps the order of {@code ids}, with {@code null}
+     * for players that could not be loaded.
+     */
+    private void getPlayersAction(final JSONArray ids, final boolean forceReload, final FieldMask mask, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                EventsClient eventsClient = PlayGames.getEventsClient(cordova.getActivity());
-                eventsClient.load(true)
-                        .addOnCompleteListener(new OnCompleteListener<AnnotatedData<EventBuffer>>() {
+                final Player[] players = new Player[ids.length()];
+                final Map<String, Task<Player>> misses = new LinkedHashMap<>();
+                final GamesClients.Players playersClient = clients.players();
+
+                for (int i = 0; i < ids.length(); i++) {
+                    final String id = ids.optString(i, "");
+                    players[i] = forceReload ? null : playerCache.get(id);
+                    if (players[i] == null && !misses.containsKey(id)) {
+                        misses.put(id, callGate.call(CallGate.Family.PLAYERS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<Player>() {
                             @Override
-                            public void onComplete(@NonNull Task<AnnotatedData<EventBuffer>> task) {
-                                if (task.isSuccessful()) {
-                                    AnnotatedData<EventBuffer> eventData = task.getResult();
-                                    EventBuffer eventBuffer = eventData.get();
-                                    if (eventBuffer == null) {
-                                        callbackContext.error("No events found.");
+                            public Task<Player> start() {
+                                return playersClient.loadPlayer(id, forceReload);
+                            }
+                        }));
+                    }
+                }
+
+                Tasks.whenAllComplete(misses.values()).addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<List<Task<?>>>() {
+                    @Override
+                    public void onComplete(@NonNull Task<List<Task<?>>> task) {
+                        Map<String, Player> loaded = new HashMap<>();
+                        for (Map.Entry<String, Task<Player>> miss : misses.entrySet()) {
+                            Task<Player> load = miss.getValue();
+                            Player player = load.isSuccessful() ? load.getResult() : null;
+                            if (player != null) {
+                                Player frozen = player.freeze();
+                                playerCache.put(miss.getKey(), frozen);
+                                loaded.put(miss.getKey(), frozen);
+                            } else if (!load.isSuccessful()) {
+                                debugLog("GPGS - Failed to load player " + miss.getKey(), load.getException());
+                            }
+                        }
+
+                        try {
+                            FieldMask playerMask = mask.orDefault(PLAYER_SUMMARY_FIELDS);
+                            JSONArray result = new JSONArray();
+                            for (int i = 0; i < players.length; i++) {
+                                Player player = players[i] != null ? players[i] : loaded.get(ids.optString(i, ""));
+                                result.put(player != null ? convertPlayerToJson(player, playerMask) : JSONObject.NULL);
+                            }
+                            callbackContext.success(result);
+                        } catch (JSONException e) {
+                            handleError(e, callbackContext);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void getAllEventsAction(final FieldMask mask, @Nullable final DeltaTracker.Sync delta, final EventCatalogue.Freshness freshness, final long maxAgeMillis, final int chunkSize, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                loadEvents(freshness, maxAgeMillis, CallDeadlines.tokenOf(callbackContext))
+                        .addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<List<Event>>() {
+                            @Override
+                            public void onComplete(@NonNull Task<List<Event>> task) {
+                                if (!task.isSuccessful()) {
+                                    handleError(task.getException(), callbackContext);
+                                    return;
+                                }
+                                List<Event> events = task.getResult();
+                                if (events == null) {
+                                    callbackContext.error("No events found.");
+                                    return;
+                                }
+                                try {
+                                    if (delta != null) {
+                                        callbackContext.success(convertEventsDeltaToJson(events, delta, mask));
                                         return;
                                     }
+                                    ChunkedResults.send(events, null, chunkSize, null, null, new ChunkedResults.Converter<Event>() {
+                                        @Override
+                                        public Object convert(@NonNull Event event) throws JSONException {
+                                            return convertEventToJson(event, mask);
+                                        }
+                                    }, callbackContext);
+                                } catch (JSONException e) {
+                                    handleError(e, callbackContext);
+                                }
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * Answers several events from the catalogue in one call; IDs the game does not define resolve to {@code null}.
+     */
+    private void getEventsAction(final JSONArray ids, final FieldMask mask, final EventCatalogue.Freshness freshness, final long maxAgeMillis, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                loadEvents(freshness, maxAgeMillis, CallDeadlines.tokenOf(callbackContext))
+                        .addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<List<Event>>() {
+                            @Override
+                            public void onComplete(@NonNull Task<List<Event>> task) {
+                                if (!task.isSuccessful()) {
+                                    handleError(task.getException(), callbackContext);
+                                    return;
+                                }
+                                try {
+                                    JSONArray result = new JSONArray();
+                                    for (int i = 0; i < ids.length(); i++) {
+                                        Event event = eventCatalogue.get(ids.optString(i, ""), -1);
+                                        result.put(event != null ? convertEventToJson(event, mask) : JSONObject.NULL);
+                                    }
+                                    callbackContext.success(result);
+                                } catch (JSONException e) {
+                                    handleError(e, callbackContext);
+                                }
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * Returns every event, from the catalogue when {@code freshness} allows it, otherwise by reloading
+     * the catalogue with one events load.
+     */
+    private Task<List<Event>> loadEvents(EventCatalogue.Freshness freshness, long maxAgeMillis, @Nullable CancellationToken token) {
+        if (freshness == EventCatalogue.Freshness.CACHE) {
+            List<Event> cached = eventCatalogue.getAll(maxAgeMillis);
+            if (cached != null) {
+                return Tasks.forResult(cached);
+            }
+        }
+
+        final long startedAt = SystemClock.elapsedRealtime();
+        return callGate.call(CallGate.Family.EVENTS, token, () -> clients.events()
+                        .load(freshness == EventCatalogue.Freshness.NETWORK))
+                .continueWith(cordova.getThreadPool(), task -> {
+                    if (!task.isSuccessful()) throw task.getException();
+                    GamesClients.Records<Event> events = task.getResult();
+                    try {
+                        eventCatalogue.replaceAll(events, startedAt);
+                    } finally {
+                        events.release();
+                    }
+                    return eventCatalogue.getAll(-1);
+                });
+    }
+
+    private void getEventAction(String id, final EventCatalogue.Freshness freshness, final long maxAgeMillis, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                Event cached = freshness == EventCatalogue.Freshness.CACHE ? eventCatalogue.get(id, maxAgeMillis) : null;
+                if (cached != null) {
+                    try {
+                        callbackContext.success(convertEventToJson(cached, FieldMask.ALL));
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    return;
+                }
+
+                final long startedAt = SystemClock.elapsedRealtime();
+                final GamesClients.Events eventsClient = clients.events();
+                callGate.call(CallGate.Family.EVENTS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.Records<Event>>() {
+                    @Override
+                    public Task<GamesClients.Records<Event>> start() {
+                        return eventsClient.loadByIds(freshness == EventCatalogue.Freshness.NETWORK, id);
+                    }
+                })
+                        .addOnCompleteListener(new OnCompleteListener<GamesClients.Records<Event>>() {
+                            @Override
+                            public void onComplete(@NonNull Task<GamesClients.Records<Event>> task) {
+                                if (task.isSuccessful()) {
+                                    GamesClients.Records<Event> eventBuffer = task.getResult();
                                     try {
-                                        JSONArray events = new JSONArray();
-                                        for (Event event : eventBuffer) {
-                                            JSONObject eventJson = new JSONObject();
-                                            eventJson.put("id", event.getEventId());
-                                            eventJson.put("name", event.getName());
-                                            eventJson.put("description", event.getDescription());
-                                            eventJson.put("value", event.getValue());
-                                            events.put(eventJson);
+                                        if (eventBuffer.getCount() == 0) {
+                                            callbackContext.error("Event not found.");
+                                            return;
                                         }
-                                        eventBuffer.release();
-                                        callbackContext.success(events);
+                                        Event event = eventBuffer.get(0);
+                                        eventCatalogue.put(event, startedAt);
+                                        callbackContext.success(convertEventToJson(event, FieldMask.ALL));
                                     } catch (JSONException e) {
                                         handleError(e, callbackContext);
+                                    } finally {
+                                        eventBuffer.release();
                                     }
                                 } else {
                                     handleError(task.getException(), callbackContext);
@@ -899,54 +1898,361 @@ public class GPGS extends CordovaPlugin {
                         });
             }
         });
-    }
-
-    private void getEventAction(String id, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    }
+
+    private void incrementEventAction(String id, int amount, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            public void run() {
+                clients.events().increment(id, amount);
+                eventCatalogue.recordIncrement(id, amount);
+                callbackContext.success();
+            }
+        });
+    }
+
+    private void loadImageAction(String uri, int maxSize, final boolean asBytes, final CallbackContext callbackContext) {
+        imagePipeline.load(uri, maxSize)
+                .addOnSuccessListener(cordova.getThreadPool(), new OnSuccessListener<ImagePipeline.CachedImage>() {
+                    @Override
+                    public void onSuccess(ImagePipeline.CachedImage image) {
+                        if (asBytes) {
+                            callbackContext.success(image.bytes);
+                            return;
+                        }
+                        try {
+                            JSONObject result = new JSONObject();
+                            result.put("uri", uri);
+                            result.put("path", Uri.fromFile(image.file).toString());
+                            result.put("width", image.width);
+                            result.put("height", image.height);
+                            callbackContext.success(result);
+                        } catch (JSONException e) {
+                            handleError(e, callbackContext);
+                        }
+                    }
+                })
+                .addOnFailureListener(cordova.getThreadPool(), new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        handleError(e, callbackContext);
+                    }
+                });
+    }
+
+    private void clearImageCacheAction(final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                imagePipeline.clear();
+                callbackContext.success();
+            }
+        });
+    }
+
+    private void cancelAction(String callId, final CallbackContext callbackContext) {
+        try {
+            JSONObject result = new JSONObject();
+            result.put("cancelled", callDeadlines.cancel(callId));
+            callbackContext.success(result);
+        } catch (JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    private void getCallStatsAction(final CallbackContext callbackContext) {
+        try {
+            callbackContext.success(callGate.toJson());
+        } catch (JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    /**
+     * Applies {@code {<family>: {capacity?, refillPerSecond?, mode?}}}. Omitted values keep their current
+     * setting; unknown families and modes are rejected before anything changes.
+     */
+    private void configureRateLimitsAction(JSONObject limits, final CallbackContext callbackContext) {
+        Map<CallGate.Family, JSONObject> updates = new LinkedHashMap<>();
+        Iterator<String> names = limits.keys();
+        while (names.hasNext()) {
+            String name = names.next();
+            CallGate.Family family = CallGate.Family.fromName(name);
+            JSONObject limit = limits.optJSONObject(name);
+            if (family == null || limit == null) {
+                callbackContext.error("Unknown API family: " + name);
+                return;
+            }
+            if (limit.has("mode") && CallGate.Mode.fromName(limit.optString("mode")) == null) {
+                callbackContext.error("Unknown rate limit mode: " + limit.optString("mode"));
+                return;
+            }
+            updates.put(family, limit);
+        }
+
+        for (Map.Entry<CallGate.Family, JSONObject> update : updates.entrySet()) {
+            JSONObject limit = update.getValue();
+            callGate.configure(update.getKey(),
+                    limit.has("capacity") ? limit.optInt("capacity") : null,
+                    limit.has("refillPerSecond") ? limit.optDouble("refillPerSecond", 0) : null,
+                    CallGate.Mode.fromName(limit.optString("mode", null)));
+        }
+        callbackContext.success();
+    }
+
+    /**
+     * Applies {@code {latencyMillis?, jitterMillis?, failureRate?, failureStatusCode?, throttle?: {capacity?, refillPerSecond?}}}
+     * to the fake backend and answers with its settings and counters. Fails unless {@code GPGS_FAKE_BACKEND} is set.
+     */
+    private void configureFakeBackendAction(@Nullable JSONObject options, final CallbackContext callbackContext) {
+        if (fakeBackend == null) {
+            callbackContext.error("The fake backend is not enabled. Set the " + FakeGamesBackend.PREFERENCE + " preference to true.");
+            return;
+        }
+        if (options != null) {
+            JSONObject throttle = options.optJSONObject("throttle");
+            fakeBackend.configure(
+                    options.has("latencyMillis") ? options.optLong("latencyMillis") : null,
+                    options.has("jitterMillis") ? options.optLong("jitterMillis") : null,
+                    options.has("failureRate") ? options.optDouble("failureRate", 0) : null,
+                    options.has("failureStatusCode") ? options.optInt("failureStatusCode") : null,
+                    throttle != null && throttle.has("capacity") ? throttle.optInt("capacity") : null,
+                    throttle != null && throttle.has("refillPerSecond") ? throttle.optDouble("refillPerSecond", 0) : null);
+        }
+        try {
+            callbackContext.success(fakeBackend.toJson());
+        } catch (JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    /**
+     * Benchmarks dispatch, JSON conversion, snapshot encoding and error reporting against the fake
+     * backend's dataset and answers with the {@link Benchmarks} report. Runs for several seconds.
+     */
+    private void runBenchmarksAction(@Nullable final JSONObject options, final CallbackContext callbackContext) {
+        if (fakeBackend == null) {
+            callbackContext.error("Benchmarks need the fake backend. Set the " + FakeGamesBackend.PREFERENCE + " preference to true.");
+            return;
+        }
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                GamesClients.Records<Achievement> achievements = null;
+                GamesClients.Records<Leaderboard> leaderboards = null;
+                GamesClients.ScorePage scores = null;
+                GamesClients.Records<Player> friends = null;
+                GamesClients.Records<Event> events = null;
+                try {
+                    achievements = Tasks.await(clients.achievements().load(false));
+                    leaderboards = Tasks.await(clients.leaderboards().loadLeaderboardMetadata(false));
+                    scores = Tasks.await(clients.leaderboards().loadTopScores(leaderboards.get(0).getLeaderboardId(),
+                            LeaderboardVariant.TIME_SPAN_ALL_TIME, LeaderboardVariant.COLLECTION_PUBLIC, Integer.MAX_VALUE));
+                    friends = Tasks.await(clients.players().loadFriends(Integer.MAX_VALUE, false));
+                    events = Tasks.await(clients.events().load(false));
+                    Benchmarks benchmarks = buildBenchmarks(achievements, leaderboards, scores, friends, events);
+                    JSONObject report;
+                    benchmarking = true;
+                    try {
+                        report = benchmarks.run(options);
+                    } finally {
+                        benchmarking = false;
+                    }
+                    callbackContext.success(report);
+                } catch (Exception e) {
+                    handleError(e, callbackContext);
+                } finally {
+                    ChunkedResults.release(achievements);
+                    ChunkedResults.release(leaderboards);
+                    ChunkedResults.release(scores);
+                    ChunkedResults.release(friends);
+                    ChunkedResults.release(events);
+                }
+            }
+        });
+    }
+
+    private void startTraceRecordingAction(final CallbackContext callbackContext) {
+        try {
+            JSONObject result = new JSONObject();
+            result.put("file", traceRecorder.start().getAbsolutePath());
+            callbackContext.success(result);
+        } catch (IOException | JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    private void stopTraceRecordingAction(final CallbackContext callbackContext) {
+        try {
+            JSONObject summary = traceRecorder.stop();
+            if (summary == null) {
+                callbackContext.error("No trace is being recorded.");
+                return;
+            }
+            callbackContext.success(summary);
+        } catch (JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    /** Sets the periodic re-check interval and answers with the current availability status. */
+    private void configureAvailabilityMonitorAction(final JSONObject options, final CallbackContext callbackContext) {
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (options.has("intervalMillis")) {
+                    availability.setIntervalMillis(options.optLong("intervalMillis"));
+                }
+                try {
+                    int status = availability.status();
+                    JSONObject result = new JSONObject();
+                    result.put("status", status);
+                    result.put("isAvailable", status == ConnectionResult.SUCCESS);
+                    result.put("intervalMillis", availability.getIntervalMillis());
+                    callbackContext.success(result);
+                } catch (JSONException e) {
+                    handleError(e, callbackContext);
+                }
+            }
+        });
+    }
+
+    private void configureAutosaveAction(JSONObject options, final CallbackContext callbackContext) {
+        autosaves.configure(
+                options.optLong("quietMillis", AutosaveScheduler.DEFAULT_QUIET_MILLIS),
+                options.optLong("maxDelayMillis", AutosaveScheduler.DEFAULT_MAX_DELAY_MILLIS));
+        callbackContext.success();
+    }
+
+    /**
+     * Replays {@code options.file} (a path or a name in the trace directory) or the trace text in
+     * {@code options.trace} against the fake backend at {@code options.speed} and answers with the
+     * {@link TraceReplayer} report.
+     */
+    private void replayTraceAction(final JSONObject options, final CallbackContext callbackContext) {
+        if (fakeBackend == null) {
+            callbackContext.error("Trace replay needs the fake backend. Set the " + FakeGamesBackend.PREFERENCE + " preference to true.");
+            return;
+        }
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                TraceReplayer replayer = new TraceReplayer(new TraceReplayer.Target() {
+                    @Override
+                    public boolean execute(@NonNull String action, @NonNull JSONArray args, @NonNull CallbackContext context) throws JSONException {
+                        return GPGS.this.execute(action, args, context);
+                    }
+                }, webView);
+                String file = options.optString("file", "");
+                try (BufferedReader trace = file.isEmpty()
+                        ? new BufferedReader(new StringReader(options.optString("trace", "")))
+                        : new BufferedReader(new InputStreamReader(new FileInputStream(traceRecorder.resolve(file)), StandardCharsets.UTF_8))) {
+                    callbackContext.success(replayer.replay(trace, options.optDouble("speed", 1), options.optLong("timeoutMillis", 60000)));
+                } catch (IOException | JSONException | InterruptedException e) {
+                    handleError(e, callbackContext);
+                }
+            }
+        });
+    }
+
+    private Benchmarks buildBenchmarks(final GamesClients.Records<Achievement> achievements, final GamesClients.Records<Leaderboard> leaderboards,
+                                       final GamesClients.ScorePage scores, final GamesClients.Records<Player> friends,
+                                       final GamesClients.Records<Event> events) throws JSONException {
+        final Benchmarks benchmarks = new Benchmarks();
+        final CallbackContext sink = benchmarks.sinkContext();
+        final JSONArray dispatchArgs = new JSONArray().put("leaderboard_id").put(2).put(0).put(25);
+
+        benchmarks.add("dispatch.unknownAction", 1, new Benchmarks.Body() {
+            @Override
+            public Object run() throws Exception {
+                // Walks every branch of dispatchAction without starting any work.
+                return execute("benchmarkNoSuchAction", dispatchArgs, sink);
+            }
+        });
+        benchmarks.add("convert.achievements", achievements.getCount(), new Benchmarks.Body() {
+            @Override
+            public Object run() throws Exception {
+                JSONArray json = new JSONArray();
+                for (Achievement achievement : achievements) {
+                    json.put(convertAchievementToJson(achievement, FieldMask.ALL));
+                }
+                return json;
+            }
+        });
+        benchmarks.add("convert.leaderboards", leaderboards.getCount(), new Benchmarks.Body() {
+            @Override
+            public Object run() throws Exception {
+                return convertLeaderboardsToJson(leaderboards, FieldMask.ALL);
+            }
+        });
+        benchmarks.add("convert.scores", scores.getCount(), new Benchmarks.Body() {
+            @Override
+            public Object run() throws Exception {
+                JSONArray json = new JSONArray();
+                for (LeaderboardScore score : scores) {
+                    json.put(convertLeaderboardScoreToJson(score, FieldMask.ALL));
+                }
+                return json;
+            }
+        });
+        benchmarks.add("convert.scoresColumnar", scores.getCount(), new Benchmarks.Body() {
             @Override
-            public void run() {
-                EventsClient eventsClient = PlayGames.getEventsClient(cordova.getActivity());
-                eventsClient.loadByIds(true, id)
-                        .addOnCompleteListener(new OnCompleteListener<AnnotatedData<EventBuffer>>() {
-                            @Override
-                            public void onComplete(@NonNull Task<AnnotatedData<EventBuffer>> task) {
-                                if (task.isSuccessful()) {
-                                    AnnotatedData<EventBuffer> eventData = task.getResult();
-                                    EventBuffer eventBuffer = eventData.get();
-                                    if (eventBuffer == null || eventBuffer.getCount() == 0) {
-                                        callbackContext.error("Event not found.");
-                                        if (eventBuffer != null)
-                                            eventBuffer.release();
-                                        return;
-                                    }
-                                    try {
-                                        Event event = eventBuffer.get(0);
-                                        JSONObject eventJson = new JSONObject();
-                                        eventJson.put("id", event.getEventId());
-                                        eventJson.put("name", event.getName());
-                                        eventJson.put("description", event.getDescription());
-                                        eventJson.put("value", event.getValue());
-                                        eventBuffer.release();
-                                        callbackContext.success(eventJson);
-                                    } catch (JSONException e) {
-                                        handleError(e, callbackContext);
-                                    }
-                                } else {
-                                    handleError(task.getException(), callbackContext);
-                                }
-                            }
-                        });
+            public Object run() throws Exception {
+                return convertLoadScoresResultToColumnar(scores, FieldMask.ALL);
+            }
+        });
+        benchmarks.add("convert.players", friends.getCount(), new Benchmarks.Body() {
+            @Override
+            public Object run() throws Exception {
+                JSONArray json = new JSONArray();
+                for (Player player : friends) {
+                    json.put(convertPlayerToJson(player, FieldMask.ALL));
+                }
+                return json;
+            }
+        });
+        benchmarks.add("convert.events", events.getCount(), new Benchmarks.Body() {
+            @Override
+            public Object run() throws Exception {
+                JSONArray json = new JSONArray();
+                for (Event event : events) {
+                    json.put(convertEventToJson(event, FieldMask.ALL));
+                }
+                return json;
             }
         });
-    }
 
-    private void incrementEventAction(String id, int amount, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
-            public void run() {
-                PlayGames.getEventsClient(cordova.getActivity()).increment(id, amount);
-                callbackContext.success();
+        for (int kilobytes : new int[] { 10, 100, 1024, 2048 }) {
+            final JSONObject save = Benchmarks.syntheticSave(kilobytes * 1024);
+            final byte[] encoded = encodeSnapshot(save);
+            benchmarks.add("snapshot.encode." + kilobytes + "k", encoded.length, new Benchmarks.Body() {
+                @Override
+                public Object run() {
+                    return encodeSnapshot(save);
+                }
+            });
+            benchmarks.add("snapshot.decode." + kilobytes + "k", encoded.length, new Benchmarks.Body() {
+                @Override
+                public Object run() throws Exception {
+                    return decodeSnapshot(encoded);
+                }
+            });
+        }
+
+        benchmarks.add("handleError.apiException", 1, new Benchmarks.Body() {
+            @Override
+            public Object run() {
+                handleError(new ApiException(new Status(CommonStatusCodes.NETWORK_ERROR, "Benchmark")), sink);
+                return null;
+            }
+        });
+        benchmarks.add("handleError.jsonException", 1, new Benchmarks.Body() {
+            @Override
+            public Object run() {
+                handleError(new JSONException("Benchmark"), sink);
+                return null;
             }
         });
+        return benchmarks;
     }
 
     private void isSignedInAction(final CallbackContext callbackContext) {
@@ -955,12 +2261,12 @@ public class GPGS extends CordovaPlugin {
             @Override
             public void run() {
                 try {
-                    GamesSignInClient signInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                    signInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                    GamesClients.SignIn signInClient = clients.signIn();
+                    signInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<Boolean>() {
                         @Override
-                        public void onComplete(@NonNull Task<AuthenticationResult> task) {
+                        public void onComplete(@NonNull Task<Boolean> task) {
                             if (task.isSuccessful()) {
-                                boolean isAuthenticated = task.getResult().isAuthenticated();
+                                boolean isAuthenticated = task.getResult();
                                 try {
                                     JSONObject result = new JSONObject();
                                     result.put("isSignedIn", isAuthenticated);
@@ -985,8 +2291,7 @@ public class GPGS extends CordovaPlugin {
             @Override
             public void run() {
                 try {
-                    GoogleApiAvailability apiAvailability = GoogleApiAvailability.getInstance();
-                    int status = apiAvailability.isGooglePlayServicesAvailable(cordova.getActivity());
+                    int status = availability.status();
                     JSONObject result = new JSONObject();
                     result.put("status", status);
                     result.put("isAvailable", status == ConnectionResult.SUCCESS);
@@ -1003,13 +2308,15 @@ public class GPGS extends CordovaPlugin {
             @Override
             public void run() {
                 try {
-                    GoogleSignInClient googleClient = GoogleSignIn.getClient(cordova.getActivity(), buildSignInOptions());
-
-                    googleClient.signOut()
+                    clients.signIn().signOut(buildSignInOptions())
                             .addOnSuccessListener(new OnSuccessListener<Void>() {
                                 @Override
                                 public void onSuccess(Void unused) {
                                     wasSignedIn = false;
+                                    hotData.clear();
+                                    playerCache.clear();
+                                    eventCatalogue.clear();
+                                    friendStore.clear();
                                     emitSignOutEvent("user_signout");
                                     callbackContext.success();
                                 }
@@ -1028,9 +2335,9 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void deliverSignInPayload(@Nullable final CallbackContext callbackContext) {
-        final PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
+        final GamesClients.Players playersClient = clients.players();
 
-        final Task<Player> playerTask = playersClient.getCurrentPlayer();
+        final Task<Player> playerTask = callGate.call(CallGate.Family.PLAYERS, () -> playersClient.getCurrentPlayer());
         final Task<AuthCodeResult> authCodeTask = serverClientId == null
                 ? Tasks.forResult(new AuthCodeResult(null, getRequestedScopeUris(), getGrantedScopeUris()))
                 : requestServerAuthCodeWithOpenId();
@@ -1100,13 +2407,12 @@ public class GPGS extends CordovaPlugin {
 
     private Task<AuthCodeResult> requestServerAuthCodeWithOpenId() {
         // Use GamesSignInClient.requestServerSideAccess with OAuth scopes
-        GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
+        GamesClients.SignIn gamesSignInClient = clients.signIn();
         
         // Create list of AuthScope for OAuth scopes
         List<AuthScope> scopes = Arrays.asList(AuthScope.EMAIL, AuthScope.PROFILE, AuthScope.OPEN_ID);
         
-        return gamesSignInClient
-                .requestServerSideAccess(serverClientId, false, scopes)
+        return callGate.call(CallGate.Family.SIGN_IN, () -> gamesSignInClient.requestServerSideAccess(serverClientId, false, scopes))
                 .continueWith(task -> {
                     if (task.isSuccessful()) {
                         AuthResponse authResponse = task.getResult();
@@ -1223,14 +2529,14 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void debugLog(String message) {
-        if (debugMode) {
+        if (debugMode && !benchmarking) {
             Log.d(TAG, message);
             sendLogToJs(message);
         }
     }
 
     private void debugLog(String message, Throwable throwable) {
-        if (debugMode) {
+        if (debugMode && !benchmarking) {
             Log.d(TAG, message, throwable);
             sendLogToJs(message);
         }
@@ -1247,21 +2553,17 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void handleError(Exception e, CallbackContext callbackContext) {
+        if (e == null) {
+            // Tasks cancelled through a call deadline complete without an exception.
+            e = new CancellationException("Call was cancelled.");
+        }
         if (callbackContext == null) {
             debugLog("GPGS Error: " + e.getMessage(), e);
             return;
         }
 
         try {
-            JSONObject error = new JSONObject();
-            error.put("message", e.getMessage());
-
-            if (e instanceof com.google.android.gms.common.api.ApiException) {
-                com.google.android.gms.common.api.ApiException apiException = (com.google.android.gms.common.api.ApiException) e;
-                error.put("statusCode", apiException.getStatusCode());
-            }
-
-            callbackContext.error(error);
+            callbackContext.error(errorToJson(e));
         } catch (JSONException jsonException) {
             callbackContext.error("{\"message\": \"" + e.getMessage() + "\", \"originalException\": \"" + jsonException.getMessage() + "\"}");
         }
@@ -1269,107 +2571,321 @@ public class GPGS extends CordovaPlugin {
         debugLog("GPGS Error: " + e.getMessage(), e);
     }
 
-    private JSONObject convertAchievementToJson(Achievement achievement) throws JSONException {
+    /** The error object every failed call rejects with. */
+    private static JSONObject errorToJson(@Nullable Exception e) throws JSONException {
+        if (e == null) {
+            e = new CancellationException("Call was cancelled.");
+        }
+        JSONObject error = new JSONObject();
+        error.put("message", e.getMessage());
+
+        if (e instanceof com.google.android.gms.common.api.ApiException) {
+            com.google.android.gms.common.api.ApiException apiException = (com.google.android.gms.common.api.ApiException) e;
+            error.put("statusCode", apiException.getStatusCode());
+            error.put("retryable", RetryPolicy.isRetryable(e));
+        } else if (e instanceof CallGate.CircuitOpenException) {
+            CallGate.CircuitOpenException circuitOpen = (CallGate.CircuitOpenException) e;
+            error.put("reason", "circuitOpen");
+            error.put("family", circuitOpen.family.jsonName);
+            error.put("retryAfterMillis", circuitOpen.retryAfterMillis);
+        } else if (e instanceof CallGate.ServicesUnavailableException) {
+            CallGate.ServicesUnavailableException unavailable = (CallGate.ServicesUnavailableException) e;
+            error.put("reason", "servicesUnavailable");
+            error.put("family", unavailable.family.jsonName);
+            error.put("errorCode", unavailable.status);
+        } else if (e instanceof CallGate.RateLimitedException) {
+            CallGate.RateLimitedException rateLimited = (CallGate.RateLimitedException) e;
+            error.put("reason", "rateLimited");
+            error.put("family", rateLimited.family.jsonName);
+            error.put("retryAfterMillis", rateLimited.retryAfterMillis);
+        }
+        return error;
+    }
+
+    private static byte[] encodeSnapshot(JSONObject contents) {
+        return contents.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static JSONObject decodeSnapshot(byte[] data) throws JSONException {
+        return new JSONObject(new String(data, StandardCharsets.UTF_8));
+    }
+
+    private JSONObject convertAchievementToJson(Achievement achievement, FieldMask mask) throws JSONException {
         if (achievement == null) return null;
         JSONObject json = new JSONObject();
-        json.put("achievementId", achievement.getAchievementId());
-        json.put("name", achievement.getName());
-        json.put("description", achievement.getDescription());
-        json.put("type", achievement.getType());
-        json.put("state", achievement.getState());
-        json.put("xpValue", achievement.getXpValue());
-        json.put("lastUpdatedTimestamp", achievement.getLastUpdatedTimestamp());
-        json.put("revealedImageUri", achievement.getRevealedImageUri() != null ? achievement.getRevealedImageUri().toString() : null);
-        json.put("unlockedImageUri", achievement.getUnlockedImageUri() != null ? achievement.getUnlockedImageUri().toString() : null);
-        if (achievement.getType() == Achievement.TYPE_INCREMENTAL) {
-            json.put("currentSteps", achievement.getCurrentSteps());
-            json.put("totalSteps", achievement.getTotalSteps());
+        if (mask.includes("achievementId")) json.put("achievementId", achievement.getAchievementId());
+        if (mask.includes("name")) json.put("name", achievement.getName());
+        if (mask.includes("description")) json.put("description", achievement.getDescription());
+        if (mask.includes("type")) json.put("type", achievement.getType());
+        if (mask.includes("state")) json.put("state", achievement.getState());
+        if (mask.includes("xpValue")) json.put("xpValue", achievement.getXpValue());
+        if (mask.includes("lastUpdatedTimestamp")) json.put("lastUpdatedTimestamp", achievement.getLastUpdatedTimestamp());
+        if (mask.includes("revealedImageUri")) json.put("revealedImageUri", achievement.getRevealedImageUri() != null ? achievement.getRevealedImageUri().toString() : null);
+        if (mask.includes("unlockedImageUri")) json.put("unlockedImageUri", achievement.getUnlockedImageUri() != null ? achievement.getUnlockedImageUri().toString() : null);
+        if ((mask.includes("currentSteps") || mask.includes("totalSteps")) && achievement.getType() == Achievement.TYPE_INCREMENTAL) {
+            if (mask.includes("currentSteps")) json.put("currentSteps", achievement.getCurrentSteps());
+            if (mask.includes("totalSteps")) json.put("totalSteps", achievement.getTotalSteps());
         }
         return json;
     }
 
-    private JSONObject convertLeaderboardToJson(Leaderboard leaderboard) throws JSONException {
+    private JSONObject convertLeaderboardToJson(Leaderboard leaderboard, FieldMask mask) throws JSONException {
         if (leaderboard == null) return null;
         JSONObject json = new JSONObject();
-        json.put("leaderboardId", leaderboard.getLeaderboardId());
-        json.put("displayName", leaderboard.getDisplayName());
-        json.put("iconImageUri", leaderboard.getIconImageUri() != null ? leaderboard.getIconImageUri().toString() : null);
-        json.put("scoreOrder", leaderboard.getScoreOrder());
+        if (mask.includes("leaderboardId")) json.put("leaderboardId", leaderboard.getLeaderboardId());
+        if (mask.includes("displayName")) json.put("displayName", leaderboard.getDisplayName());
+        if (mask.includes("iconImageUri")) json.put("iconImageUri", leaderboard.getIconImageUri() != null ? leaderboard.getIconImageUri().toString() : null);
+        if (mask.includes("scoreOrder")) json.put("scoreOrder", leaderboard.getScoreOrder());
         return json;
     }
 
-    private JSONObject convertLeaderboardScoreToJson(LeaderboardScore score) throws JSONException {
+    private JSONObject convertLeaderboardScoreToJson(LeaderboardScore score, FieldMask mask) throws JSONException {
         if (score == null) return null;
         JSONObject json = new JSONObject();
-        json.put("rank", score.getRank());
-        json.put("displayRank", score.getDisplayRank());
-        json.put("rawScore", score.getRawScore());
-        json.put("displayScore", score.getDisplayScore());
-        json.put("timestampMillis", score.getTimestampMillis());
-        if (score.getScoreHolder() != null) {
-            json.put("scoreHolder", convertPlayerToJson(score.getScoreHolder()));
+        if (mask.includes("rank")) json.put("rank", score.getRank());
+        if (mask.includes("displayRank")) json.put("displayRank", score.getDisplayRank());
+        if (mask.includes("rawScore")) json.put("rawScore", score.getRawScore());
+        if (mask.includes("displayScore")) json.put("displayScore", score.getDisplayScore());
+        if (mask.includes("timestampMillis")) json.put("timestampMillis", score.getTimestampMillis());
+        if (mask.includes("scoreHolder") && score.getScoreHolder() != null) {
+            json.put("scoreHolder", convertPlayerToJson(score.getScoreHolder(), mask.child("scoreHolder")));
         }
         return json;
     }
 
-    private JSONObject convertLoadScoresResultToJson(LeaderboardScores result) throws JSONException {
-        if (result == null) return null;
+    /** Score holders the caller asked for are read anyway, so keep a frozen copy for getPlayer/getPlayers. */
+    private void cacheScoreHolder(LeaderboardScore score, FieldMask mask) {
+        if (!mask.includes("scoreHolder")) {
+            return;
+        }
+        Player holder = score.getScoreHolder();
+        if (holder != null) {
+            playerCache.put(holder.getPlayerId(), holder.freeze());
+        }
+    }
+
+    private JSONObject convertScoreSubmissionToJson(GamesClients.ScoreSubmission submission) throws JSONException {
         JSONObject json = new JSONObject();
-        json.put("leaderboard", convertLeaderboardToJson(result.getLeaderboard()));
-        JSONArray scores = new JSONArray();
-        LeaderboardScoreBuffer buffer = result.getScores();
-        if (buffer != null) {
-            for (LeaderboardScore score : buffer) {
-                scores.put(convertLeaderboardScoreToJson(score));
+        json.put("leaderboardId", submission.getLeaderboardId());
+        json.put("playerId", submission.getPlayerId());
+        putScoreResult(json, "daily", submission.getScoreResult(LeaderboardVariant.TIME_SPAN_DAILY));
+        putScoreResult(json, "weekly", submission.getScoreResult(LeaderboardVariant.TIME_SPAN_WEEKLY));
+        putScoreResult(json, "allTime", submission.getScoreResult(LeaderboardVariant.TIME_SPAN_ALL_TIME));
+        return json;
+    }
+
+    private static void putScoreResult(JSONObject json, String timeSpan, @Nullable ScoreSubmissionData.Result result) throws JSONException {
+        if (result == null) {
+            return;
+        }
+        JSONObject span = new JSONObject();
+        span.put("rawScore", result.rawScore);
+        span.put("formattedScore", result.formattedScore);
+        span.put("scoreTag", result.scoreTag);
+        span.put("newBest", result.newBest);
+        json.put(timeSpan, span);
+    }
+
+    /**
+     * Sends a page of scores and releases it. The mask selects fields of each score; {@code leaderboard}
+     * is treated as one more field so callers that only need the rows can drop the header as well.
+     */
+    private void deliverScores(GamesClients.ScorePage page, final FieldMask mask, boolean columnar, int chunkSize, CallbackContext callbackContext) throws JSONException {
+        try {
+            if (columnar) {
+                callbackContext.success(convertLoadScoresResultToColumnar(page, mask));
+                return;
+            }
+            JSONObject meta = new JSONObject();
+            if (mask.includes("leaderboard")) {
+                meta.put("leaderboard", convertLeaderboardToJson(page.getLeaderboard(), mask.child("leaderboard")));
             }
-            buffer.release();
+            ChunkedResults.send(page, null, chunkSize, meta, "scores",
+                    new ChunkedResults.Converter<LeaderboardScore>() {
+                        @Override
+                        public Object convert(@NonNull LeaderboardScore score) throws JSONException {
+                            cacheScoreHolder(score, mask);
+                            return convertLeaderboardScoreToJson(score, mask);
+                        }
+                    }, callbackContext);
+        } finally {
+            page.release();
         }
-        json.put("scores", scores);
-        return json;
     }
 
-    private JSONObject convertSnapshotMetadataToJson(SnapshotMetadata metadata) throws JSONException {
+    private JSONObject convertSnapshotMetadataToJson(SnapshotMetadata metadata, FieldMask mask) throws JSONException {
         if (metadata == null) return null;
         JSONObject json = new JSONObject();
-        json.put("snapshotId", metadata.getSnapshotId());
-        json.put("uniqueName", metadata.getUniqueName());
-        json.put("title", metadata.getGame().getDisplayName());
-        json.put("description", metadata.getDescription());
-        json.put("lastModifiedTimestamp", metadata.getLastModifiedTimestamp());
-        json.put("playedTime", metadata.getPlayedTime());
-        json.put("coverImageUri", metadata.getCoverImageUri() != null ? metadata.getCoverImageUri().toString() : null);
+        if (mask.includes("snapshotId")) json.put("snapshotId", metadata.getSnapshotId());
+        if (mask.includes("uniqueName")) json.put("uniqueName", metadata.getUniqueName());
+        if (mask.includes("title")) json.put("title", metadata.getGame().getDisplayName());
+        if (mask.includes("description")) json.put("description", metadata.getDescription());
+        if (mask.includes("lastModifiedTimestamp")) json.put("lastModifiedTimestamp", metadata.getLastModifiedTimestamp());
+        if (mask.includes("playedTime")) json.put("playedTime", metadata.getPlayedTime());
+        if (mask.includes("coverImageUri")) json.put("coverImageUri", metadata.getCoverImageUri() != null ? metadata.getCoverImageUri().toString() : null);
         return json;
     }
 
-    private JSONObject convertPlayerToJson(Player player) throws JSONException {
+    private JSONObject convertPlayerToJson(Player player, FieldMask mask) throws JSONException {
         if (player == null) return null;
         JSONObject json = new JSONObject();
-        json.put("id", player.getPlayerId());
-        json.put("displayName", player.getDisplayName());
-        json.put("iconImageUri", player.getIconImageUri() != null ? player.getIconImageUri().toString() : null);
-        json.put("hiResImageUri", player.getHiResImageUri() != null ? player.getHiResImageUri().toString() : null);
-        json.put("title", player.getTitle());
-        if (player.getLevelInfo() != null) {
-            JSONObject levelInfo = new JSONObject();
-            levelInfo.put("currentLevel", player.getLevelInfo().getCurrentLevel().getLevelNumber());
-            levelInfo.put("currentXp", player.getLevelInfo().getCurrentXpTotal());
-            levelInfo.put("lastLevelUpTimestamp", player.getLevelInfo().getLastLevelUpTimestamp());
-            json.put("levelInfo", levelInfo);
+        if (mask.includes("id")) json.put("id", player.getPlayerId());
+        if (mask.includes("displayName")) json.put("displayName", player.getDisplayName());
+        if (mask.includes("iconImageUri")) json.put("iconImageUri", player.getIconImageUri() != null ? player.getIconImageUri().toString() : null);
+        if (mask.includes("hiResImageUri")) json.put("hiResImageUri", player.getHiResImageUri() != null ? player.getHiResImageUri().toString() : null);
+        if (mask.includes("title")) json.put("title", player.getTitle());
+        if (mask.includes("levelInfo")) {
+            PlayerLevelInfo playerLevelInfo = player.getLevelInfo();
+            if (playerLevelInfo != null) {
+                FieldMask levelMask = mask.child("levelInfo");
+                JSONObject levelInfo = new JSONObject();
+                if (levelMask.includes("currentLevel")) levelInfo.put("currentLevel", playerLevelInfo.getCurrentLevel().getLevelNumber());
+                if (levelMask.includes("currentXp")) levelInfo.put("currentXp", playerLevelInfo.getCurrentXpTotal());
+                if (levelMask.includes("lastLevelUpTimestamp")) levelInfo.put("lastLevelUpTimestamp", playerLevelInfo.getLastLevelUpTimestamp());
+                json.put("levelInfo", levelInfo);
+            }
+        }
+        return json;
+    }
+
+    private void appendAchievementRow(ColumnarEncoder encoder, Achievement achievement, FieldMask mask) {
+        if (mask.includes("achievementId")) encoder.putString("achievementId", achievement.getAchievementId());
+        if (mask.includes("name")) encoder.putString("name", achievement.getName());
+        if (mask.includes("description")) encoder.putString("description", achievement.getDescription());
+        if (mask.includes("type")) encoder.putInt("type", achievement.getType());
+        if (mask.includes("state")) encoder.putInt("state", achievement.getState());
+        if (mask.includes("xpValue")) encoder.putLong("xpValue", achievement.getXpValue());
+        if (mask.includes("lastUpdatedTimestamp")) encoder.putLong("lastUpdatedTimestamp", achievement.getLastUpdatedTimestamp());
+        if (mask.includes("revealedImageUri")) encoder.putString("revealedImageUri", achievement.getRevealedImageUri() != null ? achievement.getRevealedImageUri().toString() : null);
+        if (mask.includes("unlockedImageUri")) encoder.putString("unlockedImageUri", achievement.getUnlockedImageUri() != null ? achievement.getUnlockedImageUri().toString() : null);
+        // Standard achievements have no steps; their rows are left at 0.
+        if ((mask.includes("currentSteps") || mask.includes("totalSteps")) && achievement.getType() == Achievement.TYPE_INCREMENTAL) {
+            if (mask.includes("currentSteps")) encoder.putInt("currentSteps", achievement.getCurrentSteps());
+            if (mask.includes("totalSteps")) encoder.putInt("totalSteps", achievement.getTotalSteps());
+        }
+        encoder.endRow();
+    }
+
+    private void appendLeaderboardScoreRow(ColumnarEncoder encoder, LeaderboardScore score, FieldMask mask) {
+        if (mask.includes("rank")) encoder.putLong("rank", score.getRank());
+        if (mask.includes("displayRank")) encoder.putString("displayRank", score.getDisplayRank());
+        if (mask.includes("rawScore")) encoder.putLong("rawScore", score.getRawScore());
+        if (mask.includes("displayScore")) encoder.putString("displayScore", score.getDisplayScore());
+        if (mask.includes("timestampMillis")) encoder.putLong("timestampMillis", score.getTimestampMillis());
+        Player holder = mask.includes("scoreHolder") ? score.getScoreHolder() : null;
+        if (holder != null) {
+            // Nested player fields are flattened into "scoreHolder.<field>" columns.
+            FieldMask holderMask = mask.child("scoreHolder");
+            if (holderMask.includes("id")) encoder.putString("scoreHolder.id", holder.getPlayerId());
+            if (holderMask.includes("displayName")) encoder.putString("scoreHolder.displayName", holder.getDisplayName());
+            if (holderMask.includes("iconImageUri")) encoder.putString("scoreHolder.iconImageUri", holder.getIconImageUri() != null ? holder.getIconImageUri().toString() : null);
+            if (holderMask.includes("hiResImageUri")) encoder.putString("scoreHolder.hiResImageUri", holder.getHiResImageUri() != null ? holder.getHiResImageUri().toString() : null);
+            if (holderMask.includes("title")) encoder.putString("scoreHolder.title", holder.getTitle());
+            if (holderMask.includes("levelInfo")) {
+                PlayerLevelInfo levelInfo = holder.getLevelInfo();
+                if (levelInfo != null) {
+                    FieldMask levelMask = holderMask.child("levelInfo");
+                    if (levelMask.includes("currentLevel")) encoder.putInt("scoreHolder.levelInfo.currentLevel", levelInfo.getCurrentLevel().getLevelNumber());
+                    if (levelMask.includes("currentXp")) encoder.putLong("scoreHolder.levelInfo.currentXp", levelInfo.getCurrentXpTotal());
+                    if (levelMask.includes("lastLevelUpTimestamp")) encoder.putLong("scoreHolder.levelInfo.lastLevelUpTimestamp", levelInfo.getLastLevelUpTimestamp());
+                }
+            }
+        }
+        encoder.endRow();
+    }
+
+    private byte[] convertLoadScoresResultToColumnar(GamesClients.ScorePage page, FieldMask mask) throws JSONException {
+        ColumnarEncoder encoder = new ColumnarEncoder(page.getCount());
+        if (mask.includes("leaderboard")) {
+            encoder.putMeta("leaderboard", convertLeaderboardToJson(page.getLeaderboard(), mask.child("leaderboard")));
+        }
+        for (LeaderboardScore score : page) {
+            cacheScoreHolder(score, mask);
+            appendLeaderboardScoreRow(encoder, score, mask);
+        }
+        return encoder.encode();
+    }
+
+    private void appendSnapshotMetadataRow(ColumnarEncoder encoder, SnapshotMetadata metadata, FieldMask mask) {
+        if (mask.includes("snapshotId")) encoder.putString("snapshotId", metadata.getSnapshotId());
+        if (mask.includes("uniqueName")) encoder.putString("uniqueName", metadata.getUniqueName());
+        if (mask.includes("title")) encoder.putString("title", metadata.getGame().getDisplayName());
+        if (mask.includes("description")) encoder.putString("description", metadata.getDescription());
+        if (mask.includes("lastModifiedTimestamp")) encoder.putLong("lastModifiedTimestamp", metadata.getLastModifiedTimestamp());
+        if (mask.includes("playedTime")) encoder.putLong("playedTime", metadata.getPlayedTime());
+        if (mask.includes("coverImageUri")) encoder.putString("coverImageUri", metadata.getCoverImageUri() != null ? metadata.getCoverImageUri().toString() : null);
+        encoder.endRow();
+    }
+
+    private static String achievementSignature(Achievement achievement) {
+        int steps = achievement.getType() == Achievement.TYPE_INCREMENTAL ? achievement.getCurrentSteps() : 0;
+        return achievement.getState() + ":" + steps;
+    }
+
+    /**
+     * Records the loaded achievements in the delta tracker and returns only those whose state or
+     * steps changed after the caller's version token.
+     */
+    private JSONObject convertAchievementsDeltaToJson(Iterable<Achievement> achievements, DeltaTracker.Sync delta, FieldMask mask) throws JSONException {
+        for (Achievement achievement : achievements) {
+            delta.observe(achievement.getAchievementId(), achievementSignature(achievement));
         }
+        delta.commit();
+        JSONArray changes = new JSONArray();
+        for (Achievement achievement : achievements) {
+            if (delta.shouldSend(achievement.getAchievementId())) {
+                changes.put(convertAchievementToJson(achievement, mask));
+            }
+        }
+        return delta.toJson(changes);
+    }
+
+    /** Same as {@link #convertAchievementsDeltaToJson} for events, keyed on the event value. */
+    private JSONObject convertEventsDeltaToJson(Iterable<Event> events, DeltaTracker.Sync delta, FieldMask mask) throws JSONException {
+        for (Event event : events) {
+            delta.observe(event.getEventId(), String.valueOf(eventValue(event)));
+        }
+        delta.commit();
+        JSONArray changes = new JSONArray();
+        for (Event event : events) {
+            if (delta.shouldSend(event.getEventId())) {
+                changes.put(convertEventToJson(event, mask));
+            }
+        }
+        return delta.toJson(changes);
+    }
+
+    /** Loaded value plus local increments Play Games has not reflected yet. */
+    private long eventValue(Event event) {
+        return event.getValue() + eventCatalogue.pendingIncrement(event.getEventId());
+    }
+
+    private JSONObject convertEventToJson(Event event, FieldMask mask) throws JSONException {
+        if (event == null) return null;
+        JSONObject json = new JSONObject();
+        if (mask.includes("id")) json.put("id", event.getEventId());
+        if (mask.includes("name")) json.put("name", event.getName());
+        if (mask.includes("description")) json.put("description", event.getDescription());
+        if (mask.includes("value")) json.put("value", eventValue(event));
         return json;
     }
 
-    private void loadTopScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults, final CallbackContext callbackContext) {
+    private void loadTopScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults, final FieldMask mask, final boolean columnar, final int chunkSize, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadTopScores(leaderboardId, timeSpan, collection, maxResults)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
+                callGate.call(CallGate.Family.LEADERBOARDS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.ScorePage>() {
+                    @Override
+                    public Task<GamesClients.ScorePage> start() {
+                        return clients.leaderboards()
+                                .loadTopScores(leaderboardId, timeSpan, collection, maxResults);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<GamesClients.ScorePage>() {
                             @Override
-                            public void onSuccess(AnnotatedData<LeaderboardScores> data) {
+                            public void onSuccess(GamesClients.ScorePage page) {
                                 try {
-                                    callbackContext.success(convertLoadScoresResultToJson(data.get()));
+                                    deliverScores(page, mask, columnar, chunkSize, callbackContext);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -1385,17 +2901,120 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void loadPlayerCenteredScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults, final CallbackContext callbackContext) {
+    /**
+     * Loads the top scores of several leaderboards, at most {@code options.parallelism} at a time, and
+     * answers with {@code {leaderboards: {<id>: metadata}, results: [{leaderboardId, timeSpan, collection,
+     * scores | error}], failed}}. Each page is converted as soon as it arrives; metadata is sent once per
+     * leaderboard however many queries target it.
+     */
+    private void loadTopScoresForManyAction(final JSONArray queries, @Nullable JSONObject options, final CallbackContext callbackContext) throws JSONException {
+        final int defaultMaxResults = options != null ? options.optInt("maxResults", 25) : 25;
+        final int parallelism = options != null ? options.optInt("parallelism", 4) : 4;
+        final FieldMask mask = FieldMask.fromOptions(options);
+        final List<CallGate.Call<GamesClients.ScorePage>> loads = new ArrayList<>();
+        final JSONArray results = new JSONArray();
+        for (int i = 0; i < queries.length(); i++) {
+            JSONObject query = queries.getJSONObject(i);
+            final String leaderboardId = query.getString("leaderboardId");
+            final int timeSpan = query.optInt("timeSpan", LeaderboardVariant.TIME_SPAN_ALL_TIME);
+            final int collection = query.optInt("collection", LeaderboardVariant.COLLECTION_PUBLIC);
+            final int maxResults = query.optInt("maxResults", defaultMaxResults);
+            JSONObject result = new JSONObject();
+            result.put("leaderboardId", leaderboardId);
+            result.put("timeSpan", timeSpan);
+            result.put("collection", collection);
+            results.put(result);
+            loads.add(new CallGate.Call<GamesClients.ScorePage>() {
+                @Override
+                public Task<GamesClients.ScorePage> start() {
+                    return callGate.call(CallGate.Family.LEADERBOARDS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.ScorePage>() {
+                        @Override
+                        public Task<GamesClients.ScorePage> start() {
+                            return clients.leaderboards().loadTopScores(leaderboardId, timeSpan, collection, maxResults);
+                        }
+                    });
+                }
+            });
+        }
+
+        cordova.getThreadPool().execute(new Runnable() {
+            @Override
+            public void run() {
+                final JSONObject leaderboards = new JSONObject();
+                final AtomicInteger failed = new AtomicInteger();
+                ParallelCalls.run(loads, parallelism, cordova.getThreadPool(), new ParallelCalls.Listener<GamesClients.ScorePage>() {
+                    @Override
+                    public void onComplete(int index, @NonNull Task<GamesClients.ScorePage> task) {
+                        JSONObject result = results.optJSONObject(index);
+                        try {
+                            if (!task.isSuccessful()) {
+                                failed.incrementAndGet();
+                                result.put("error", errorToJson(task.getException()));
+                                return;
+                            }
+                            GamesClients.ScorePage page = task.getResult();
+                            try {
+                                JSONArray scores = new JSONArray();
+                                for (LeaderboardScore score : page) {
+                                    cacheScoreHolder(score, mask);
+                                    scores.put(convertLeaderboardScoreToJson(score, mask));
+                                }
+                                result.put("scores", scores);
+                                if (mask.includes("leaderboard")) {
+                                    synchronized (leaderboards) {
+                                        String id = result.getString("leaderboardId");
+                                        if (!leaderboards.has(id)) {
+                                            leaderboards.put(id, convertLeaderboardToJson(page.getLeaderboard(), mask.child("leaderboard")));
+                                        }
+                                    }
+                                }
+                            } finally {
+                                page.release();
+                            }
+                        } catch (JSONException e) {
+                            failed.incrementAndGet();
+                            debugLog("GPGS - Failed to convert scores of " + result.optString("leaderboardId"), e);
+                            // Report the failure like a failed load; drop scores converted before it.
+                            result.remove("scores");
+                            try {
+                                result.put("error", errorToJson(e));
+                            } catch (JSONException ignored) {}
+                        }
+                    }
+                }).addOnCompleteListener(new OnCompleteListener<Void>() {
+                    @Override
+                    public void onComplete(@NonNull Task<Void> task) {
+                        try {
+                            JSONObject payload = new JSONObject();
+                            payload.put("leaderboards", leaderboards);
+                            payload.put("results", results);
+                            payload.put("failed", failed.get());
+                            callbackContext.success(payload);
+                        } catch (JSONException e) {
+                            handleError(e, callbackContext);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void loadPlayerCenteredScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults, final FieldMask mask, final boolean columnar, final int chunkSize, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
+                callGate.call(CallGate.Family.LEADERBOARDS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.ScorePage>() {
+                    @Override
+                    public Task<GamesClients.ScorePage> start() {
+                        return clients.leaderboards()
+                                .loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<GamesClients.ScorePage>() {
                             @Override
-                            public void onSuccess(AnnotatedData<LeaderboardScores> data) {
+                            public void onSuccess(GamesClients.ScorePage page) {
                                 try {
-                                    callbackContext.success(convertLoadScoresResultToJson(data.get()));
+                                    deliverScores(page, mask, columnar, chunkSize, callbackContext);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -1411,29 +3030,35 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void loadAllLeaderboardsMetadataAction(final CallbackContext callbackContext) {
+    private void loadAllLeaderboardsMetadataAction(final FieldMask mask, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadLeaderboardMetadata(false)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardBuffer>>() {
+                List<Leaderboard> cached = hotData.getLeaderboards();
+                if (cached != null) {
+                    try {
+                        callbackContext.success(convertLeaderboardsToJson(cached, mask));
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    return;
+                }
+
+                callGate.call(CallGate.Family.LEADERBOARDS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.Records<Leaderboard>>() {
+                    @Override
+                    public Task<GamesClients.Records<Leaderboard>> start() {
+                        return clients.leaderboards().loadLeaderboardMetadata(false);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<GamesClients.Records<Leaderboard>>() {
                             @Override
-                            public void onSuccess(AnnotatedData<LeaderboardBuffer> data) {
-                                LeaderboardBuffer buffer = data.get();
-                                if (buffer == null) {
-                                    callbackContext.success(new JSONArray());
-                                    return;
-                                }
+                            public void onSuccess(GamesClients.Records<Leaderboard> buffer) {
                                 try {
-                                    JSONArray result = new JSONArray();
-                                    for (Leaderboard leaderboard : buffer) {
-                                        result.put(convertLeaderboardToJson(leaderboard));
-                                    }
-                                    buffer.release();
-                                    callbackContext.success(result);
+                                    callbackContext.success(convertLeaderboardsToJson(buffer, mask));
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
+                                } finally {
+                                    buffer.release();
                                 }
                             }
                         })
@@ -1447,22 +3072,43 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
+    private JSONArray convertLeaderboardsToJson(Iterable<Leaderboard> leaderboards, FieldMask mask) throws JSONException {
+        JSONArray result = new JSONArray();
+        for (Leaderboard leaderboard : leaderboards) {
+            result.put(convertLeaderboardToJson(leaderboard, mask));
+        }
+        return result;
+    }
+
     private void loadLeaderboardMetadataAction(String leaderboardId, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadLeaderboardMetadata(leaderboardId, false)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<Leaderboard>>() {
+                Leaderboard cached = hotData.getLeaderboard(leaderboardId);
+                if (cached != null) {
+                    try {
+                        callbackContext.success(convertLeaderboardToJson(cached, FieldMask.ALL));
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    return;
+                }
+
+                callGate.call(CallGate.Family.LEADERBOARDS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<Leaderboard>() {
+                    @Override
+                    public Task<Leaderboard> start() {
+                        return clients.leaderboards().loadLeaderboardMetadata(leaderboardId, false);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<Leaderboard>() {
                             @Override
-                            public void onSuccess(AnnotatedData<Leaderboard> data) {
-                                Leaderboard leaderboard = data.get();
+                            public void onSuccess(Leaderboard leaderboard) {
                                 if (leaderboard == null) {
                                     callbackContext.error("Leaderboard not found.");
                                     return;
                                 }
                                 try {
-                                    callbackContext.success(convertLeaderboardToJson(leaderboard));
+                                    callbackContext.success(convertLeaderboardToJson(leaderboard, FieldMask.ALL));
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -1478,28 +3124,43 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void deleteSnapshotAction(String snapshotName, final CallbackContext callbackContext) {
+    private void deleteSnapshotAction(final String snapshotName, final CallbackContext callbackContext) {
+        strands.delete(snapshotName, callbackContext, new SnapshotStrands.Operation() {
+            @Override
+            public void start(@NonNull CallbackContext strandContext) {
+                removeSnapshot(snapshotName, strandContext);
+            }
+        });
+    }
+
+    private void removeSnapshot(final String snapshotName, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
-                snapshotsClient.open(snapshotName, false)
-                        .addOnSuccessListener(new OnSuccessListener<SnapshotsClient.DataOrConflict<Snapshot>>() {
+                final GamesClients.Snapshots snapshotsClient = clients.snapshots();
+                callGate.callOnce(CallGate.Family.SNAPSHOTS, new CallGate.Call<Snapshot>() {
+                    @Override
+                    public Task<Snapshot> start() {
+                        return snapshotsClient.open(snapshotName, false);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<Snapshot>() {
                             @Override
-                            public void onSuccess(SnapshotsClient.DataOrConflict<Snapshot> dataOrConflict) {
-                                if (dataOrConflict.isConflict()) {
-                                    callbackContext.error("Snapshot conflict. Cannot delete.");
-                                    return;
-                                }
-                                Snapshot snapshot = dataOrConflict.getData();
+                            public void onSuccess(final Snapshot snapshot) {
                                 if (snapshot == null) {
                                     callbackContext.error("Snapshot not found.");
                                     return;
                                 }
-                                snapshotsClient.delete(snapshot.getMetadata())
+                                callGate.callOnce(CallGate.Family.SNAPSHOTS, new CallGate.Call<String>() {
+                                    @Override
+                                    public Task<String> start() {
+                                        return snapshotsClient.delete(snapshot.getMetadata());
+                                    }
+                                })
                                         .addOnSuccessListener(new OnSuccessListener<String>() {
                                             @Override
                                             public void onSuccess(String s) {
+                                                hotData.snapshots().remove(s);
                                                 callbackContext.success(s);
                                             }
                                         })
@@ -1521,27 +3182,33 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void loadAllSnapshotsAction(boolean forceReload, final CallbackContext callbackContext) {
+    private void loadAllSnapshotsAction(boolean forceReload, final FieldMask mask, final boolean columnar, final int chunkSize, final CallbackContext callbackContext) {
         cordova.getThreadPool().execute(new Runnable() {
             @Override
             public void run() {
-                PlayGames.getSnapshotsClient(cordova.getActivity())
-                        .load(forceReload)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<SnapshotMetadataBuffer>>() {
+                List<SnapshotMetadata> cached = forceReload ? null : hotData.snapshots().list();
+                if (cached != null) {
+                    try {
+                        deliverSnapshots(cached, null, cached.size(), mask, columnar, chunkSize, callbackContext);
+                    } catch (JSONException e) {
+                        handleError(e, callbackContext);
+                    }
+                    refreshSnapshotIndex();
+                    return;
+                }
+
+                callGate.call(CallGate.Family.SNAPSHOTS, CallDeadlines.tokenOf(callbackContext), new CallGate.Call<GamesClients.Records<SnapshotMetadata>>() {
+                    @Override
+                    public Task<GamesClients.Records<SnapshotMetadata>> start() {
+                        return clients.snapshots().load(forceReload);
+                    }
+                })
+                        .addOnSuccessListener(new OnSuccessListener<GamesClients.Records<SnapshotMetadata>>() {
                             @Override
-                            public void onSuccess(AnnotatedData<SnapshotMetadataBuffer> data) {
-                                SnapshotMetadataBuffer buffer = data.get();
-                                if (buffer == null) {
-                                    callbackContext.success(new JSONArray());
-                                    return;
-                                }
+                            public void onSuccess(GamesClients.Records<SnapshotMetadata> buffer) {
                                 try {
-                                    JSONArray result = new JSONArray();
-                                    for (SnapshotMetadata metadata : buffer) {
-                                        result.put(convertSnapshotMetadataToJson(metadata));
-                                    }
-                                    buffer.release();
-                                    callbackContext.success(result);
+                                    List<SnapshotMetadata> listing = indexSnapshots(buffer);
+                                    deliverSnapshots(listing, buffer, listing.size(), mask, columnar, chunkSize, callbackContext);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
@@ -1557,14 +3224,222 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
+    /**
+     * Replaces the snapshot index with a full listing, reports the slots that changed through
+     * {@code gpgs.snapshots} unless this listing first loaded the index, and returns the indexed list.
+     */
+    private List<SnapshotMetadata> indexSnapshots(Iterable<SnapshotMetadata> listing) {
+        SnapshotIndex.Diff diff = hotData.snapshots().replaceAll(listing);
+        if (!diff.initial && !diff.isEmpty()) {
+            try {
+                JSONArray changed = new JSONArray();
+                for (SnapshotMetadata metadata : diff.changed) {
+                    changed.put(convertSnapshotMetadataToJson(metadata, FieldMask.ALL));
+                }
+                JSONObject payload = new JSONObject();
+                payload.put("changed", changed);
+                payload.put("removed", new JSONArray(diff.removed));
+                emitWindowEvent(EVENT_SNAPSHOTS, payload);
+            } catch (JSONException e) {
+                handleError(e, null);
+            }
+        }
+        List<SnapshotMetadata> indexed = hotData.snapshots().list();
+        return indexed != null ? indexed : Collections.<SnapshotMetadata>emptyList();
+    }
+
+    /** Reloads the snapshot listing from the server after a read was answered from the index. */
+    private void refreshSnapshotIndex() {
+        if (lifecycle.isPaused() || !snapshotRefreshRunning.compareAndSet(false, true)) {
+            return;
+        }
+        callGate.call(CallGate.Family.SNAPSHOTS, new CallGate.Call<GamesClients.Records<SnapshotMetadata>>() {
+            @Override
+            public Task<GamesClients.Records<SnapshotMetadata>> start() {
+                return clients.snapshots().load(true);
+            }
+        }).addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<GamesClients.Records<SnapshotMetadata>>() {
+            @Override
+            public void onComplete(@NonNull Task<GamesClients.Records<SnapshotMetadata>> task) {
+                snapshotRefreshRunning.set(false);
+                if (!task.isSuccessful()) {
+                    debugLog("GPGS - Snapshot refresh failed", task.getException());
+                    return;
+                }
+                GamesClients.Records<SnapshotMetadata> buffer = task.getResult();
+                try {
+                    indexSnapshots(buffer);
+                } finally {
+                    buffer.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends snapshot metadata in the requested shape and releases {@code owner}, the buffer it was read from.
+     */
+    private void deliverSnapshots(Iterable<SnapshotMetadata> snapshots, @Nullable Releasable owner, int count, final FieldMask mask, boolean columnar,
+                                  int chunkSize, CallbackContext callbackContext) throws JSONException {
+        if (columnar) {
+            try {
+                ColumnarEncoder encoder = new ColumnarEncoder(count);
+                for (SnapshotMetadata metadata : snapshots) {
+                    appendSnapshotMetadataRow(encoder, metadata, mask);
+                }
+                callbackContext.success(encoder.encode());
+            } finally {
+                ChunkedResults.release(owner);
+            }
+            return;
+        }
+        ChunkedResults.send(snapshots, owner, chunkSize, null, null, new ChunkedResults.Converter<SnapshotMetadata>() {
+            @Override
+            public Object convert(@NonNull SnapshotMetadata metadata) throws JSONException {
+                return convertSnapshotMetadataToJson(metadata, mask);
+            }
+        }, callbackContext);
+    }
+
+    /**
+     * The first call lets the sign-in stage of the startup pipeline run and answers with its report once
+     * it has finished. Later calls run a fresh availability, auth and sign-in pass after the previous one,
+     * so they retry sign-in and report the current state.
+     */
     private void initializeAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        Task<JSONObject> report;
+        synchronized (this) {
+            if (!startupRequested.trySetResult(null)) {
+                startupReport = startupReport.continueWithTask(cordova.getThreadPool(), new Continuation<JSONObject, Task<JSONObject>>() {
+                    @Override
+                    public Task<JSONObject> then(@NonNull Task<JSONObject> previous) {
+                        return startStartupPipeline(false, Tasks.forResult(null));
+                    }
+                });
+            }
+            report = startupReport;
+        }
+        report.addOnCompleteListener(cordova.getThreadPool(), new OnCompleteListener<JSONObject>() {
             @Override
-            public void run() {
-                signInSilently();
-                // Emit current Play-Services availability immediately.
-                emitAvailabilityEvent();
-                callbackContext.success();
+            public void onComplete(@NonNull Task<JSONObject> task) {
+                if (task.isSuccessful()) {
+                    callbackContext.success(task.getResult());
+                } else {
+                    handleError(task.getException(), callbackContext);
+                }
+            }
+        });
+    }
+
+    private void configureWarmupAction(@Nullable JSONObject options, final CallbackContext callbackContext) {
+        if (options != null) {
+            warmupEnabled = options.optBoolean("enabled", warmupEnabled);
+            JSONArray datasets = options.optJSONArray("datasets");
+            if (datasets != null) {
+                List<String> selected = new ArrayList<>();
+                for (int i = 0; i < datasets.length(); i++) {
+                    String dataset = datasets.optString(i, "");
+                    if (DEFAULT_WARMUP_DATASETS.contains(dataset)) {
+                        selected.add(dataset);
+                    }
+                }
+                warmupDatasets = Collections.unmodifiableList(selected);
+            }
+        }
+        callbackContext.success();
+    }
+
+    /**
+     * Preloads the datasets a game needs right after sign-in into {@link HotDataCache}.
+     * All loads start at once; {@code gpgs.warmup} reports the total duration when the last one completes.
+     * Nothing is preloaded while the app is in the background.
+     */
+    @Nullable
+    private Task<List<Task<?>>> startWarmup(final String trigger) {
+        if (!warmupEnabled || warmupDatasets.isEmpty() || lifecycle.isPaused() || !warmupRunning.compareAndSet(false, true)) {
+            return null;
+        }
+
+        final long startedAt = SystemClock.elapsedRealtime();
+        final Executor executor = cordova.getThreadPool();
+        final Map<String, Task<Integer>> loads = new LinkedHashMap<>();
+
+        if (warmupDatasets.contains(WARMUP_PLAYER)) {
+            loads.put(WARMUP_PLAYER, callGate.call(CallGate.Family.PLAYERS, () -> clients.players().getCurrentPlayer())
+                    .continueWith(executor, task -> {
+                        if (!task.isSuccessful()) throw task.getException();
+                        Player player = task.getResult();
+                        if (player == null) return 0;
+                        hotData.putCurrentPlayer(player);
+                        playerCache.put(player.getPlayerId(), player.freeze());
+                        return 1;
+                    }));
+        }
+        if (warmupDatasets.contains(WARMUP_ACHIEVEMENTS)) {
+            loads.put(WARMUP_ACHIEVEMENTS, callGate.call(CallGate.Family.ACHIEVEMENTS, () -> clients.achievements().load(false))
+                    .continueWith(executor, task -> {
+                        if (!task.isSuccessful()) throw task.getException();
+                        GamesClients.Records<Achievement> buffer = task.getResult();
+                        try {
+                            hotData.putAchievements(buffer);
+                            return buffer.getCount();
+                        } finally {
+                            buffer.release();
+                        }
+                    }));
+        }
+        if (warmupDatasets.contains(WARMUP_LEADERBOARDS)) {
+            loads.put(WARMUP_LEADERBOARDS, callGate.call(CallGate.Family.LEADERBOARDS, () -> clients.leaderboards().loadLeaderboardMetadata(false))
+                    .continueWith(executor, task -> {
+                        if (!task.isSuccessful()) throw task.getException();
+                        GamesClients.Records<Leaderboard> buffer = task.getResult();
+                        try {
+                            hotData.putLeaderboards(buffer);
+                            return buffer.getCount();
+                        } finally {
+                            buffer.release();
+                        }
+                    }));
+        }
+        if (warmupDatasets.contains(WARMUP_SNAPSHOTS)) {
+            loads.put(WARMUP_SNAPSHOTS, callGate.call(CallGate.Family.SNAPSHOTS, () -> clients.snapshots().load(false))
+                    .continueWith(executor, task -> {
+                        if (!task.isSuccessful()) throw task.getException();
+                        GamesClients.Records<SnapshotMetadata> buffer = task.getResult();
+                        try {
+                            indexSnapshots(buffer);
+                            return buffer.getCount();
+                        } finally {
+                            buffer.release();
+                        }
+                    }));
+        }
+
+        return Tasks.whenAllComplete(loads.values()).addOnCompleteListener(executor, new OnCompleteListener<List<Task<?>>>() {
+            @Override
+            public void onComplete(@NonNull Task<List<Task<?>>> task) {
+                long durationMillis = SystemClock.elapsedRealtime() - startedAt;
+                warmupRunning.set(false);
+                debugLog("GPGS - Warmup (" + trigger + ") finished in " + durationMillis + " ms.");
+                try {
+                    JSONObject datasets = new JSONObject();
+                    for (Map.Entry<String, Task<Integer>> load : loads.entrySet()) {
+                        JSONObject status = new JSONObject();
+                        Task<Integer> result = load.getValue();
+                        status.put("loaded", result.isSuccessful());
+                        if (result.isSuccessful()) {
+                            status.put("count", result.getResult());
+                        } else if (result.getException() != null) {
+                            status.put("error", result.getException().getMessage());
+                        }
+                        datasets.put(load.getKey(), status);
+                    }
+                    JSONObject payload = new JSONObject();
+                    payload.put("trigger", trigger);
+                    payload.put("durationMillis", durationMillis);
+                    payload.put("datasets", datasets);
+                    emitWindowEvent(EVENT_WARMUP, payload);
+                } catch (JSONException ignored) { }
             }
         });
     }
@@ -1593,10 +3468,9 @@ public class GPGS extends CordovaPlugin {
     }
 
     // Helper: emit availability event with detailed status object
-    private void emitAvailabilityEvent() {
+    private void emitAvailabilityEvent(int status) {
         try {
             GoogleApiAvailability apiAvailability = GoogleApiAvailability.getInstance();
-            int status = apiAvailability.isGooglePlayServicesAvailable(cordova.getActivity());
             JSONObject payload = new JSONObject();
             payload.put("available", status == ConnectionResult.SUCCESS);
             if (status != ConnectionResult.SUCCESS) {
@@ -0,0 +1,180 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.content.Intent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
+import com.google.android.gms.common.api.Releasable;
+import com.google.android.gms.games.Player;
+import com.google.android.gms.games.achievement.Achievement;
+import com.google.android.gms.games.event.Event;
+import com.google.android.gms.games.gamessignin.AuthResponse;
+import com.google.android.gms.games.gamessignin.AuthScope;
+import com.google.android.gms.games.leaderboard.Leaderboard;
+import com.google.android.gms.games.leaderboard.LeaderboardScore;
+import com.google.android.gms.games.leaderboard.ScoreSubmissionData;
+import com.google.android.gms.games.snapshot.Snapshot;
+import com.google.android.gms.games.snapshot.SnapshotMetadata;
+import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
+import com.google.android.gms.tasks.Task;
+
+import java.util.List;
+
+/**
+ * The Play Games clients the plugin talks to, reduced to the calls it makes.
+ *
+ * {@link PlayGamesClients} forwards to the real clients; {@link FakeGamesBackend} answers from memory
+ * with configurable latency, failures and throttling, so call scheduling, caching and throughput can
+ * be exercised without a signed-in device. Both still run inside the app: the facades keep the Play
+ * Games model types and {@code Task}, so they need the Android runtime and are not a plain JVM test
+ * harness. Results never expose Play Games buffer classes: lists come
+ * back as {@link Records}, which the caller releases, and single values are returned directly.
+ */
+interface GamesClients {
+
+    SignIn signIn();
+
+    Achievements achievements();
+
+    Leaderboards leaderboards();
+
+    Snapshots snapshots();
+
+    Events events();
+
+    Players players();
+
+    /** A released-after-use list of records, usually backed by a DataBuffer. */
+    interface Records<T> extends Iterable<T>, Releasable {
+        int getCount();
+
+        T get(int index);
+    }
+
+    /** One page of leaderboard scores together with the leaderboard it belongs to. */
+    interface ScorePage extends Records<LeaderboardScore> {
+        @Nullable
+        Leaderboard getLeaderboard();
+    }
+
+    /** The outcome of an immediate score submission, per time span. */
+    interface ScoreSubmission {
+        String getLeaderboardId();
+
+        String getPlayerId();
+
+        /** {@code null} if the leaderboard does not report on {@code timeSpan}. */
+        @Nullable
+        ScoreSubmissionData.Result getScoreResult(int timeSpan);
+    }
+
+    /** Opening a snapshot found a conflict; the plugin does not resolve conflicts. */
+    final class SnapshotConflictException extends Exception {
+        SnapshotConflictException(String snapshotName) {
+            super("Snapshot conflict: " + snapshotName);
+        }
+    }
+
+    interface SignIn {
+        Task<Boolean> isAuthenticated();
+
+        /** Completes with {@code true} once the player is signed in. */
+        Task<Boolean> signIn();
+
+        Task<AuthResponse> requestServerSideAccess(@NonNull String serverClientId, boolean forceRefreshToken, @NonNull List<AuthScope> scopes);
+
+        Task<Void> signOut(@NonNull GoogleSignInOptions options);
+    }
+
+    interface Achievements {
+        void unlock(@NonNull String achievementId);
+
+        void increment(@NonNull String achievementId, int steps);
+
+        void reveal(@NonNull String achievementId);
+
+        void setSteps(@NonNull String achievementId, int steps);
+
+        Task<Records<Achievement>> load(boolean forceReload);
+
+        Task<Intent> getAchievementsIntent();
+    }
+
+    interface Leaderboards {
+        void submitScore(@NonNull String leaderboardId, long score, @Nullable String scoreTag);
+
+        Task<ScoreSubmission> submitScoreImmediate(@NonNull String leaderboardId, long score, @Nullable String scoreTag);
+
+        Task<LeaderboardScore> loadCurrentPlayerLeaderboardScore(@NonNull String leaderboardId, int timeSpan, int collection);
+
+        Task<ScorePage> loadTopScores(@NonNull String leaderboardId, int timeSpan, int collection, int maxResults);
+
+        Task<ScorePage> loadPlayerCenteredScores(@NonNull String leaderboardId, int timeSpan, int collection, int maxResults);
+
+        Task<Records<Leaderboard>> loadLeaderboardMetadata(boolean forceReload);
+
+        Task<Leaderboard> loadLeaderboardMetadata(@NonNull String leaderboardId, boolean forceReload);
+
+        Task<Intent> getLeaderboardIntent(@NonNull String leaderboardId);
+
+        Task<Intent> getAllLeaderboardsIntent();
+    }
+
+    interface Snapshots {
+        /** Fails with {@link SnapshotConflictException} when the snapshot is in conflict. */
+        Task<Snapshot> open(@NonNull String name, boolean createIfNotFound);
+
+        Task<SnapshotMetadata> commitAndClose(@NonNull Snapshot snapshot, @NonNull SnapshotMetadataChange change);
+
+        Task<Void> discardAndClose(@NonNull Snapshot snapshot);
+
+        Task<String> delete(@NonNull SnapshotMetadata metadata);
+
+        Task<Records<SnapshotMetadata>> load(boolean forceReload);
+
+        Task<Intent> getSelectSnapshotIntent(@NonNull String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots);
+    }
+
+    interface Events {
+        Task<Records<Event>> load(boolean forceReload);
+
+        Task<Records<Event>> loadByIds(boolean forceReload, @NonNull String... eventIds);
+
+        void increment(@NonNull String eventId, int amount);
+    }
+
+    interface Players {
+        Task<Player> getCurrentPlayer();
+
+        Task<Player> loadPlayer(@NonNull String playerId, boolean forceReload);
+
+        Task<Records<Player>> loadFriends(int pageSize, boolean forceReload);
+
+        /** The page of friends after those already loaded since the last {@link #loadFriends}. */
+        Task<Records<Player>> loadMoreFriends(int pageSize);
+
+        Task<Intent> getCompareProfileIntent(@NonNull String playerId);
+
+        Task<Intent> getPlayerSearchIntent();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.games.Player;
+import com.google.android.gms.games.achievement.Achievement;
+import com.google.android.gms.games.leaderboard.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Frozen copies of the datasets a game asks for right after sign-in: the current player,
+ * achievements, leaderboard metadata and the snapshot list.
+ *
+ * Entries are filled by the warmup stage and served to non-forced loads while they are younger than
+ * {@link #MAX_AGE_MILLIS}. Writes that change a dataset invalidate it rather than patching it, except
+ * for the snapshot list: its {@link SnapshotIndex} is patched by every commit and delete and does not
+ * expire, because each read from it also refreshes it in the background.
+ */
+final class HotDataCache {
+
+    static final long MAX_AGE_MILLIS = 5 * 60 * 1000;
+
+    private static final class Entry<T> {
+        final T value;
+        final long loadedAt;
+
+        Entry(T value) {
+            this.value = value;
+            this.loadedAt = SystemClock.elapsedRealtime();
+        }
+
+        boolean isFresh() {
+            return SystemClock.elapsedRealtime() - loadedAt < MAX_AGE_MILLIS;
+        }
+    }
+
+    private volatile Entry<Player> currentPlayer;
+    private volatile Entry<List<Achievement>> achievements;
+    private volatile Entry<List<Leaderboard>> leaderboards;
+    private final SnapshotIndex snapshots = new SnapshotIndex();
+
+    void putCurrentPlayer(@NonNull Player player) {
+        currentPlayer = new Entry<>(player.freeze());
+    }
+
+    @Nullable
+    Player getCurrentPlayer() {
+        return fresh(currentPlayer);
+    }
+
+    void putAchievements(@NonNull Iterable<Achievement> items) {
+        List<Achievement> frozen = new ArrayList<>();
+        for (Achievement achievement : items) {
+            frozen.add(achievement.freeze());
+        }
+        achievements = new Entry<>(Collections.unmodifiableList(frozen));
+    }
+
+    @Nullable
+    List<Achievement> getAchievements() {
+        return fresh(achievements);
+    }
+
+    void invalidateAchievements() {
+        achievements = null;
+    }
+
+    void putLeaderboards(@NonNull Iterable<Leaderboard> items) {
+        List<Leaderboard> frozen = new ArrayList<>();
+        for (Leaderboard leaderboard : items) {
+            frozen.add(leaderboard.freeze());
+        }
+        leaderboards = new Entry<>(Collections.unmodifiableList(frozen));
+    }
+
+    @Nullable
+    List<Leaderboard> getLeaderboards() {
+        return fresh(leaderboards);
+    }
+
+    @Nullable
+    Leaderboard getLeaderboard(@NonNull String leaderboardId) {
+        List<Leaderboard> items = getLeaderboards();
+        if (items == null) {
+            return null;
+        }
+        for (Leaderboard leaderboard : items) {
+            if (leaderboardId.equals(leaderboard.getLeaderboardId())) {
+                return leaderboard;
+            }
+        }
+        return null;
+    }
+
+    SnapshotIndex snapshots() {
+        return snapshots;
+    }
+
+    void clear() {
+        currentPlayer = null;
+        achievements = null;
+        leaderboards = null;
+        snapshots.clear();
+    }
+
+    @Nullable
+    private static <T> T fresh(@Nullable Entry<T> entry) {
+        return entry != null && entry.isFresh() ? entry.value : null;
+    }
+}
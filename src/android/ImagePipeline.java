@@ -0,0 +1,374 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.common.images.ImageManager;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves Play Games image URIs ({@code content://} icons, avatars and covers) into small PNGs the
+ * WebView can use.
+ *
+ * Images are decoded on the supplied executor with {@code inSampleSize} downsampling to the requested
+ * edge length, then kept in a byte-budgeted memory LRU and in a disk cache under the app cache dir.
+ * Concurrent requests for the same URI and size share one load.
+ */
+final class ImagePipeline {
+
+    /** Opens the raw bytes behind an image URI. Swappable so a local content provider can stand in. */
+    interface ImageSource {
+        @NonNull
+        InputStream open(@NonNull Uri uri) throws IOException;
+    }
+
+    static final class CachedImage {
+        @NonNull
+        final byte[] bytes;
+        @NonNull
+        final File file;
+        final int width;
+        final int height;
+
+        CachedImage(@NonNull byte[] bytes, @NonNull File file, int width, int height) {
+            this.bytes = bytes;
+            this.file = file;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static final String CACHE_DIR = "gpgs-images";
+    // Play Games images are a few hundred KB at most; anything larger is not an icon.
+    private static final int MAX_SOURCE_BYTES = 8 * 1024 * 1024;
+    private static final long IMAGE_MANAGER_TIMEOUT_SECONDS = 15;
+
+    private final Executor executor;
+    private final ImageSource source;
+    private final File cacheDir;
+    private final long diskBudgetBytes;
+    private final LruCache<String, CachedImage> memory;
+    private final ConcurrentHashMap<String, Task<CachedImage>> inFlight = new ConcurrentHashMap<>();
+
+    ImagePipeline(@NonNull Context context, @NonNull Executor executor, @NonNull ImageSource source,
+                  int memoryBudgetBytes, long diskBudgetBytes) {
+        this.executor = executor;
+        this.source = source;
+        this.cacheDir = new File(context.getCacheDir(), CACHE_DIR);
+        this.diskBudgetBytes = diskBudgetBytes;
+        this.memory = new LruCache<String, CachedImage>(memoryBudgetBytes) {
+            @Override
+            protected int sizeOf(String key, CachedImage value) {
+                return value.bytes.length;
+            }
+        };
+    }
+
+    /**
+     * Default source: the content resolver handles {@code content://}, {@code file://} and
+     * {@code android.resource://}; Play Games URIs the resolver refuses are loaded via
+     * {@link ImageManager}, which is the only supported reader for some of them.
+     */
+    @NonNull
+    static ImageSource defaultSource(@NonNull final Context context) {
+        return new ImageSource() {
+            @NonNull
+            @Override
+            public InputStream open(@NonNull Uri uri) throws IOException {
+                try {
+                    InputStream stream = context.getContentResolver().openInputStream(uri);
+                    if (stream != null) {
+                        return stream;
+                    }
+                } catch (IOException | SecurityException e) {
+                    // Fall through to ImageManager.
+                }
+                return openWithImageManager(context, uri);
+            }
+        };
+    }
+
+    private static InputStream openWithImageManager(final Context context, final Uri uri) throws IOException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Bitmap[] result = new Bitmap[1];
+
+        // ImageManager must be used from the main thread and reports back on it.
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                ImageManager.create(context).loadImage(new ImageManager.OnImageLoadedListener() {
+                    @Override
+                    public void onImageLoaded(@NonNull Uri loadedUri, @Nullable Drawable drawable, boolean isRequestedDrawable) {
+                        if (drawable instanceof BitmapDrawable) {
+                            result[0] = ((BitmapDrawable) drawable).getBitmap();
+                        }
+                        latch.countDown();
+                    }
+                }, uri);
+            }
+        });
+
+        try {
+            if (!latch.await(IMAGE_MANAGER_TIMEOUT_SECONDS, TimeUnit.SECONDS) || result[0] == null) {
+                throw new IOException("Unable to load image: " + uri);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading image: " + uri);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result[0].compress(Bitmap.CompressFormat.PNG, 100, out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    /**
+     * Loads {@code uri} scaled so that its longer edge is at most {@code maxSize} pixels
+     * ({@code 0} keeps the original size).
+     */
+    @NonNull
+    Task<CachedImage> load(@NonNull final String uri, final int maxSize) {
+        final String key = uri + "@" + Math.max(maxSize, 0);
+
+        CachedImage cached = memory.get(key);
+        if (cached != null && cached.file.exists()) {
+            return Tasks.forResult(cached);
+        }
+
+        final TaskCompletionSource<CachedImage> completion = new TaskCompletionSource<>();
+        Task<CachedImage> existing = inFlight.putIfAbsent(key, completion.getTask());
+        if (existing != null) {
+            return existing;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    CachedImage image = loadFromDisk(key);
+                    if (image == null) {
+                        image = decodeAndStore(key, Uri.parse(uri), maxSize);
+                    }
+                    memory.put(key, image);
+                    completion.setResult(image);
+                } catch (Exception e) {
+                    completion.setException(e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            }
+        });
+        return completion.getTask();
+    }
+
+    void clear() {
+        memory.evictAll();
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    /** Drops the memory tier only; the disk cache survives for the next request. */
+    void trimMemory() {
+        memory.evictAll();
+    }
+
+    @Nullable
+    private CachedImage loadFromDisk(String key) throws IOException {
+        File file = fileFor(key);
+        if (!file.exists()) {
+            return null;
+        }
+        byte[] bytes = readFully(new FileInputStream(file), Integer.MAX_VALUE);
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, bounds);
+        //noinspection ResultOfMethodCallIgnored
+        file.setLastModified(System.currentTimeMillis());
+        return new CachedImage(bytes, file, bounds.outWidth, bounds.outHeight);
+    }
+
+    private CachedImage decodeAndStore(String key, Uri uri, int maxSize) throws IOException {
+        byte[] raw = readFully(source.open(uri), MAX_SOURCE_BYTES);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(raw, 0, raw.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Unsupported image: " + uri);
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, maxSize);
+        Bitmap bitmap = BitmapFactory.decodeByteArray(raw, 0, raw.length, options);
+        if (bitmap == null) {
+            throw new IOException("Unable to decode image: " + uri);
+        }
+
+        // inSampleSize only halves; finish the last step with a filtered scale.
+        int longest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (maxSize > 0 && longest > maxSize) {
+            float scale = (float) maxSize / longest;
+            Bitmap scaled = Bitmap.createScaledBitmap(bitmap,
+                    Math.max(1, Math.round(bitmap.getWidth() * scale)),
+                    Math.max(1, Math.round(bitmap.getHeight() * scale)), true);
+            if (scaled != bitmap) {
+                bitmap.recycle();
+                bitmap = scaled;
+            }
+        }
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.PNG, 100, encoded);
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        bitmap.recycle();
+
+        byte[] bytes = encoded.toByteArray();
+        File file = writeAtomically(fileFor(key), bytes);
+        trimDisk();
+        return new CachedImage(bytes, file, width, height);
+    }
+
+    private static int sampleSize(int width, int height, int maxSize) {
+        int sample = 1;
+        if (maxSize <= 0) {
+            return sample;
+        }
+        while (Math.max(width, height) / (sample * 2) >= maxSize) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private File writeAtomically(File target, byte[] bytes) throws IOException {
+        if (!cacheDir.exists() && !cacheDir.mkdirs() && !cacheDir.exists()) {
+            throw new IOException("Unable to create image cache directory.");
+        }
+        File temp = new File(cacheDir, target.getName() + ".tmp");
+        OutputStream out = new FileOutputStream(temp);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+        if (!temp.renameTo(target)) {
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            throw new IOException("Unable to store cached image.");
+        }
+        return target;
+    }
+
+    private synchronized void trimDisk() {
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= diskBudgetBytes) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (File file : files) {
+            if (total <= diskBudgetBytes) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private File fileFor(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(hash.length * 2 + 4);
+            for (byte b : hash) {
+                name.append(String.format("%02x", b));
+            }
+            return new File(cacheDir, name.append(".png").toString());
+        } catch (NoSuchAlgorithmException e) {
+            return new File(cacheDir, Integer.toHexString(key.hashCode()) + ".png");
+        }
+    }
+
+    static byte[] readFully(InputStream in, int limit) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+                if (out.size() > limit) {
+                    throw new IOException("Image exceeds " + limit + " bytes.");
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fans the activity lifecycle out to the plugin's subsystems.
+ *
+ * On pause participants flush pending writes and stop background work; on resume they pick it up
+ * again; on destroy they release caches, buffers and callbacks. Participants are paused and destroyed
+ * in reverse registration order, so a subsystem can still use the ones registered before it.
+ */
+final class LifecycleManager {
+
+    interface Participant {
+        /** Flush pending writes and suspend background work. Runs on the UI thread; must not block. */
+        void onPause();
+
+        void onResume();
+
+        /** Release everything; no other callback follows. */
+        void onDestroy();
+    }
+
+    private final List<Participant> participants = new CopyOnWriteArrayList<>();
+    private volatile boolean paused = false;
+    private volatile boolean destroyed = false;
+
+    void register(@NonNull Participant participant) {
+        participants.add(participant);
+    }
+
+    /** Whether the app is in the background; background syncs should not start while it is. */
+    boolean isPaused() {
+        return paused || destroyed;
+    }
+
+    void pause() {
+        if (paused || destroyed) {
+            return;
+        }
+        paused = true;
+        RuntimeException failure = null;
+        for (int i = participants.size() - 1; i >= 0; i--) {
+            try {
+                participants.get(i).onPause();
+            } catch (RuntimeException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+        rethrow(failure);
+    }
+
+    void resume() {
+        if (!paused || destroyed) {
+            return;
+        }
+        paused = false;
+        RuntimeException failure = null;
+        for (Participant participant : participants) {
+            try {
+                participant.onResume();
+            } catch (RuntimeException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+        rethrow(failure);
+    }
+
+    void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        RuntimeException failure = null;
+        for (int i = participants.size() - 1; i >= 0; i--) {
+            try {
+                participants.get(i).onDestroy();
+            } catch (RuntimeException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+        participants.clear();
+        rethrow(failure);
+    }
+
+    // Every participant gets its callback even if an earlier one throws; the first failure is reported.
+    private static void rethrow(RuntimeException failure) {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
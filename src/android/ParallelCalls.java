@@ -0,0 +1,93 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnCompleteListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a list of calls with at most {@code parallelism} in flight at a time.
+ *
+ * Each finished call is handed to the {@link Listener} on {@code executor} before the next one starts,
+ * so results can be converted and their buffers released while the remaining calls are still loading.
+ * The returned Task completes, never with a failure, once every call has finished; failed calls are
+ * reported to the listener like any other.
+ */
+final class ParallelCalls {
+
+    interface Listener<T> {
+        void onComplete(int index, @NonNull Task<T> task);
+    }
+
+    private ParallelCalls() {
+    }
+
+    static <T> Task<Void> run(@NonNull final List<CallGate.Call<T>> calls, int parallelism,
+                              @NonNull final Executor executor, @NonNull final Listener<T> listener) {
+        final TaskCompletionSource<Void> done = new TaskCompletionSource<>();
+        if (calls.isEmpty()) {
+            done.setResult(null);
+            return done.getTask();
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(calls.size());
+        final Runnable launch = new Runnable() {
+            @Override
+            public void run() {
+                final int index = next.getAndIncrement();
+                if (index >= calls.size()) {
+                    return;
+                }
+                Task<T> task;
+                try {
+                    task = calls.get(index).start();
+                } catch (RuntimeException e) {
+                    task = Tasks.forException(e);
+                }
+                final Runnable self = this;
+                task.addOnCompleteListener(executor, new OnCompleteListener<T>() {
+                    @Override
+                    public void onComplete(@NonNull Task<T> finished) {
+                        try {
+                            listener.onComplete(index, finished);
+                        } finally {
+                            if (remaining.decrementAndGet() == 0) {
+                                done.setResult(null);
+                            } else {
+                                self.run();
+                            }
+                        }
+                    }
+                });
+            }
+        };
+        for (int i = 0; i < Math.min(Math.max(1, parallelism), calls.size()); i++) {
+            launch.run();
+        }
+        return done.getTask();
+    }
+}
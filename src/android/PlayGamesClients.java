@@ -0,0 +1,413 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.app.Activity;
+import android.content.Intent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.auth.api.signin.GoogleSignIn;
+import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
+import com.google.android.gms.common.data.DataBuffer;
+import com.google.android.gms.games.AnnotatedData;
+import com.google.android.gms.games.AuthenticationResult;
+import com.google.android.gms.games.LeaderboardsClient;
+import com.google.android.gms.games.LeaderboardsClient.LeaderboardScores;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.Player;
+import com.google.android.gms.games.SnapshotsClient;
+import com.google.android.gms.games.achievement.Achievement;
+import com.google.android.gms.games.event.Event;
+import com.google.android.gms.games.gamessignin.AuthResponse;
+import com.google.android.gms.games.gamessignin.AuthScope;
+import com.google.android.gms.games.leaderboard.Leaderboard;
+import com.google.android.gms.games.leaderboard.LeaderboardScore;
+import com.google.android.gms.games.leaderboard.ScoreSubmissionData;
+import com.google.android.gms.games.snapshot.Snapshot;
+import com.google.android.gms.games.snapshot.SnapshotMetadata;
+import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
+import com.google.android.gms.tasks.Continuation;
+import com.google.android.gms.tasks.Task;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link GamesClients} backed by the Play Games Services v2 clients of {@code activity}.
+ *
+ * Clients are looked up on every call, as the SDK recommends, so nothing here outlives a sign-out.
+ */
+final class PlayGamesClients implements GamesClients {
+
+    private final Activity activity;
+
+    PlayGamesClients(@NonNull Activity activity) {
+        this.activity = activity;
+    }
+
+    @Override
+    public SignIn signIn() {
+        return signIn;
+    }
+
+    @Override
+    public Achievements achievements() {
+        return achievements;
+    }
+
+    @Override
+    public Leaderboards leaderboards() {
+        return leaderboards;
+    }
+
+    @Override
+    public Snapshots snapshots() {
+        return snapshots;
+    }
+
+    @Override
+    public Events events() {
+        return events;
+    }
+
+    @Override
+    public Players players() {
+        return players;
+    }
+
+    private final SignIn signIn = new SignIn() {
+        @Override
+        public Task<Boolean> isAuthenticated() {
+            return authenticated(PlayGames.getGamesSignInClient(activity).isAuthenticated());
+        }
+
+        @Override
+        public Task<Boolean> signIn() {
+            return authenticated(PlayGames.getGamesSignInClient(activity).signIn());
+        }
+
+        @Override
+        public Task<AuthResponse> requestServerSideAccess(@NonNull String serverClientId, boolean forceRefreshToken, @NonNull List<AuthScope> scopes) {
+            return PlayGames.getGamesSignInClient(activity).requestServerSideAccess(serverClientId, forceRefreshToken, scopes);
+        }
+
+        @Override
+        public Task<Void> signOut(@NonNull GoogleSignInOptions options) {
+            return GoogleSignIn.getClient(activity, options).signOut();
+        }
+    };
+
+    private final Achievements achievements = new Achievements() {
+        @Override
+        public void unlock(@NonNull String achievementId) {
+            PlayGames.getAchievementsClient(activity).unlock(achievementId);
+        }
+
+        @Override
+        public void increment(@NonNull String achievementId, int steps) {
+            PlayGames.getAchievementsClient(activity).increment(achievementId, steps);
+        }
+
+        @Override
+        public void reveal(@NonNull String achievementId) {
+            PlayGames.getAchievementsClient(activity).reveal(achievementId);
+        }
+
+        @Override
+        public void setSteps(@NonNull String achievementId, int steps) {
+            PlayGames.getAchievementsClient(activity).setSteps(achievementId, steps);
+        }
+
+        @Override
+        public Task<Records<Achievement>> load(boolean forceReload) {
+            return records(PlayGames.getAchievementsClient(activity).load(forceReload));
+        }
+
+        @Override
+        public Task<Intent> getAchievementsIntent() {
+            return PlayGames.getAchievementsClient(activity).getAchievementsIntent();
+        }
+    };
+
+    private final Leaderboards leaderboards = new Leaderboards() {
+        @Override
+        public void submitScore(@NonNull String leaderboardId, long score, @Nullable String scoreTag) {
+            if (scoreTag != null) {
+                PlayGames.getLeaderboardsClient(activity).submitScore(leaderboardId, score, scoreTag);
+            } else {
+                PlayGames.getLeaderboardsClient(activity).submitScore(leaderboardId, score);
+            }
+        }
+
+        @Override
+        public Task<ScoreSubmission> submitScoreImmediate(@NonNull String leaderboardId, long score, @Nullable String scoreTag) {
+            LeaderboardsClient client = PlayGames.getLeaderboardsClient(activity);
+            return (scoreTag != null ? client.submitScoreImmediate(leaderboardId, score, scoreTag) : client.submitScoreImmediate(leaderboardId, score))
+                    .continueWith(new Continuation<ScoreSubmissionData, ScoreSubmission>() {
+                        @Override
+                        public ScoreSubmission then(@NonNull Task<ScoreSubmissionData> task) throws Exception {
+                            final ScoreSubmissionData data = task.getResult();
+                            return new ScoreSubmission() {
+                                @Override
+                                public String getLeaderboardId() {
+                                    return data.getLeaderboardId();
+                                }
+
+                                @Override
+                                public String getPlayerId() {
+                                    return data.getPlayerId();
+                                }
+
+                                @Override
+                                public ScoreSubmissionData.Result getScoreResult(int timeSpan) {
+                                    return data.getScoreResult(timeSpan);
+                                }
+                            };
+                        }
+                    });
+        }
+
+        @Override
+        public Task<LeaderboardScore> loadCurrentPlayerLeaderboardScore(@NonNull String leaderboardId, int timeSpan, int collection) {
+            return value(PlayGames.getLeaderboardsClient(activity).loadCurrentPlayerLeaderboardScore(leaderboardId, timeSpan, collection));
+        }
+
+        @Override
+        public Task<ScorePage> loadTopScores(@NonNull String leaderboardId, int timeSpan, int collection, int maxResults) {
+            return scorePage(PlayGames.getLeaderboardsClient(activity).loadTopScores(leaderboardId, timeSpan, collection, maxResults));
+        }
+
+        @Override
+        public Task<ScorePage> loadPlayerCenteredScores(@NonNull String leaderboardId, int timeSpan, int collection, int maxResults) {
+            return scorePage(PlayGames.getLeaderboardsClient(activity).loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults));
+        }
+
+        @Override
+        public Task<Records<Leaderboard>> loadLeaderboardMetadata(boolean forceReload) {
+            return records(PlayGames.getLeaderboardsClient(activity).loadLeaderboardMetadata(forceReload));
+        }
+
+        @Override
+        public Task<Leaderboard> loadLeaderboardMetadata(@NonNull String leaderboardId, boolean forceReload) {
+            return value(PlayGames.getLeaderboardsClient(activity).loadLeaderboardMetadata(leaderboardId, forceReload));
+        }
+
+        @Override
+        public Task<Intent> getLeaderboardIntent(@NonNull String leaderboardId) {
+            return PlayGames.getLeaderboardsClient(activity).getLeaderboardIntent(leaderboardId);
+        }
+
+        @Override
+        public Task<Intent> getAllLeaderboardsIntent() {
+            return PlayGames.getLeaderboardsClient(activity).getAllLeaderboardsIntent();
+        }
+    };
+
+    private final Snapshots snapshots = new Snapshots() {
+        @Override
+        public Task<Snapshot> open(@NonNull final String name, boolean createIfNotFound) {
+            return PlayGames.getSnapshotsClient(activity).open(name, createIfNotFound)
+                    .continueWith(new Continuation<SnapshotsClient.DataOrConflict<Snapshot>, Snapshot>() {
+                        @Override
+                        public Snapshot then(@NonNull Task<SnapshotsClient.DataOrConflict<Snapshot>> task) throws Exception {
+                            SnapshotsClient.DataOrConflict<Snapshot> dataOrConflict = task.getResult();
+                            if (dataOrConflict.isConflict()) {
+                                throw new SnapshotConflictException(name);
+                            }
+                            return dataOrConflict.getData();
+                        }
+                    });
+        }
+
+        @Override
+        public Task<SnapshotMetadata> commitAndClose(@NonNull Snapshot snapshot, @NonNull SnapshotMetadataChange change) {
+            return PlayGames.getSnapshotsClient(activity).commitAndClose(snapshot, change);
+        }
+
+        @Override
+        public Task<Void> discardAndClose(@NonNull Snapshot snapshot) {
+            return PlayGames.getSnapshotsClient(activity).discardAndClose(snapshot);
+        }
+
+        @Override
+        public Task<String> delete(@NonNull SnapshotMetadata metadata) {
+            return PlayGames.getSnapshotsClient(activity).delete(metadata);
+        }
+
+        @Override
+        public Task<Records<SnapshotMetadata>> load(boolean forceReload) {
+            return records(PlayGames.getSnapshotsClient(activity).load(forceReload));
+        }
+
+        @Override
+        public Task<Intent> getSelectSnapshotIntent(@NonNull String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots) {
+            return PlayGames.getSnapshotsClient(activity).getSelectSnapshotIntent(title, allowAddButton, allowDelete, maxSnapshots);
+        }
+    };
+
+    private final Events events = new Events() {
+        @Override
+        public Task<Records<Event>> load(boolean forceReload) {
+            return records(PlayGames.getEventsClient(activity).load(forceReload));
+        }
+
+        @Override
+        public Task<Records<Event>> loadByIds(boolean forceReload, @NonNull String... eventIds) {
+            return records(PlayGames.getEventsClient(activity).loadByIds(forceReload, eventIds));
+        }
+
+        @Override
+        public void increment(@NonNull String eventId, int amount) {
+            PlayGames.getEventsClient(activity).increment(eventId, amount);
+        }
+    };
+
+    private final Players players = new Players() {
+        @Override
+        public Task<Player> getCurrentPlayer() {
+            return PlayGames.getPlayersClient(activity).getCurrentPlayer();
+        }
+
+        @Override
+        public Task<Player> loadPlayer(@NonNull String playerId, boolean forceReload) {
+            return value(PlayGames.getPlayersClient(activity).loadPlayer(playerId, forceReload));
+        }
+
+        @Override
+        public Task<Records<Player>> loadFriends(int pageSize, boolean forceReload) {
+            return records(PlayGames.getPlayersClient(activity).loadFriends(pageSize, forceReload));
+        }
+
+        @Override
+        public Task<Records<Player>> loadMoreFriends(int pageSize) {
+            return records(PlayGames.getPlayersClient(activity).loadMoreFriends(pageSize));
+        }
+
+        @Override
+        public Task<Intent> getCompareProfileIntent(@NonNull String playerId) {
+            return PlayGames.getPlayersClient(activity).getCompareProfileIntent(playerId);
+        }
+
+        @Override
+        public Task<Intent> getPlayerSearchIntent() {
+            return PlayGames.getPlayersClient(activity).getPlayerSearchIntent();
+        }
+    };
+
+    private static Task<Boolean> authenticated(Task<AuthenticationResult> task) {
+        return task.continueWith(new Continuation<AuthenticationResult, Boolean>() {
+            @Override
+            public Boolean then(@NonNull Task<AuthenticationResult> task) throws Exception {
+                return task.getResult().isAuthenticated();
+            }
+        });
+    }
+
+    private static <T> Task<T> value(Task<AnnotatedData<T>> task) {
+        return task.continueWith(new Continuation<AnnotatedData<T>, T>() {
+            @Override
+            public T then(@NonNull Task<AnnotatedData<T>> task) throws Exception {
+                AnnotatedData<T> data = task.getResult();
+                return data != null ? data.get() : null;
+            }
+        });
+    }
+
+    private static <T, B extends DataBuffer<T>> Task<Records<T>> records(Task<AnnotatedData<B>> task) {
+        return task.continueWith(new Continuation<AnnotatedData<B>, Records<T>>() {
+            @Override
+            public Records<T> then(@NonNull Task<AnnotatedData<B>> task) throws Exception {
+                AnnotatedData<B> data = task.getResult();
+                return new BufferRecords<>(data != null ? data.get() : null);
+            }
+        });
+    }
+
+    private static Task<ScorePage> scorePage(Task<AnnotatedData<LeaderboardScores>> task) {
+        return task.continueWith(new Continuation<AnnotatedData<LeaderboardScores>, ScorePage>() {
+            @Override
+            public ScorePage then(@NonNull Task<AnnotatedData<LeaderboardScores>> task) throws Exception {
+                AnnotatedData<LeaderboardScores> data = task.getResult();
+                return new BufferScorePage(data != null ? data.get() : null);
+            }
+        });
+    }
+
+    /** Records over a DataBuffer; a missing buffer reads as empty. */
+    private static class BufferRecords<T> implements Records<T> {
+        @Nullable
+        private final DataBuffer<T> buffer;
+
+        BufferRecords(@Nullable DataBuffer<T> buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int getCount() {
+            return buffer != null ? buffer.getCount() : 0;
+        }
+
+        @Override
+        public T get(int index) {
+            if (buffer == null) {
+                throw new IndexOutOfBoundsException("index " + index + " of empty records");
+            }
+            return buffer.get(index);
+        }
+
+        @NonNull
+        @Override
+        public Iterator<T> iterator() {
+            return buffer != null ? buffer.iterator() : Collections.<T>emptyIterator();
+        }
+
+        @Override
+        public void release() {
+            if (buffer != null) {
+                buffer.release();
+            }
+        }
+    }
+
+    private static final class BufferScorePage extends BufferRecords<LeaderboardScore> implements ScorePage {
+        @Nullable
+        private final LeaderboardScores scores;
+
+        BufferScorePage(@Nullable LeaderboardScores scores) {
+            super(scores != null ? scores.getScores() : null);
+            this.scores = scores;
+        }
+
+        @Nullable
+        @Override
+        public Leaderboard getLeaderboard() {
+            return scores != null ? scores.getLeaderboard() : null;
+        }
+
+        @Override
+        public void release() {
+            if (scores != null) {
+                scores.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.common.api.ResolvableApiException;
+import com.google.android.gms.games.GamesClientStatusCodes;
+
+import java.util.Random;
+
+/**
+ * Retry and circuit breaker settings for one API family, plus the classification of failures into
+ * transient (worth retrying) and permanent ones.
+ */
+final class RetryPolicy {
+
+    final int maxAttempts;
+    final long baseDelayMillis;
+    final long maxDelayMillis;
+    /** Consecutive transient failures that open the breaker. */
+    final int failureThreshold;
+    /** How long an open breaker rejects calls before letting a single probe through. */
+    final long openMillis;
+
+    RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, int failureThreshold, long openMillis) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Delay before retry number {@code retry} (1 for the first retry): exponential growth capped at
+     * {@link #maxDelayMillis}, of which the upper half is randomised so clients that failed together do
+     * not retry together.
+     */
+    long backoffMillis(int retry, @NonNull Random random) {
+        long ceiling = baseDelayMillis << Math.min(retry - 1, 16);
+        if (ceiling <= 0 || ceiling > maxDelayMillis) {
+            ceiling = maxDelayMillis;
+        }
+        long half = ceiling / 2;
+        return half + (long) (random.nextDouble() * (ceiling - half));
+    }
+
+    /**
+     * Whether {@code e} is a transient failure: network trouble, timeouts and a disconnected or
+     * reconnecting Play Games client. Sign-in, developer and resolution errors never are.
+     */
+    static boolean isRetryable(@Nullable Exception e) {
+        if (!(e instanceof ApiException) || e instanceof ResolvableApiException) {
+            return false;
+        }
+        switch (((ApiException) e).getStatusCode()) {
+            case CommonStatusCodes.NETWORK_ERROR:
+            case CommonStatusCodes.INTERNAL_ERROR:
+            case CommonStatusCodes.TIMEOUT:
+            case CommonStatusCodes.INTERRUPTED:
+            case CommonStatusCodes.API_NOT_CONNECTED:
+            case CommonStatusCodes.RECONNECTION_TIMED_OUT:
+            case CommonStatusCodes.RECONNECTION_TIMED_OUT_DURING_UPDATE:
+            case GamesClientStatusCodes.CLIENT_RECONNECT_REQUIRED:
+            case GamesClientStatusCodes.NETWORK_ERROR_NO_DATA:
+            case GamesClientStatusCodes.NETWORK_ERROR_OPERATION_FAILED:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
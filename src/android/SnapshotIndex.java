@@ -0,0 +1,126 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.games.snapshot.SnapshotMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frozen snapshot metadata keyed by unique name, kept current without reloading the whole listing.
+ *
+ * A full listing replaces the index and reports which slots changed. Commits and deletes patch it in
+ * place with the metadata {@code commitAndClose} returns and the id {@code delete} returns. Until the
+ * first listing arrives the index is not loaded, and patches are ignored so a partial index is never
+ * served.
+ */
+final class SnapshotIndex {
+
+    /**
+     * The slots a listing changed: new or modified metadata, and the unique names that disappeared.
+     * {@code initial} is set for the listing that first loaded the index, where every slot is new.
+     */
+    static final class Diff {
+        final boolean initial;
+        final List<SnapshotMetadata> changed;
+        final List<String> removed;
+
+        Diff(boolean initial, List<SnapshotMetadata> changed, List<String> removed) {
+            this.initial = initial;
+            this.changed = changed;
+            this.removed = removed;
+        }
+
+        boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    // Guarded by this.
+    private final Map<String, SnapshotMetadata> slots = new LinkedHashMap<>();
+    private boolean loaded = false;
+
+    /** The indexed metadata in listing order, or {@code null} before the first listing. */
+    @Nullable
+    synchronized List<SnapshotMetadata> list() {
+        return loaded ? Collections.unmodifiableList(new ArrayList<>(slots.values())) : null;
+    }
+
+    /** Replaces the index with a full listing and returns what changed since the previous one. */
+    synchronized Diff replaceAll(@NonNull Iterable<SnapshotMetadata> listing) {
+        boolean initial = !loaded;
+        Map<String, SnapshotMetadata> previous = new LinkedHashMap<>(slots);
+        List<SnapshotMetadata> changed = new ArrayList<>();
+        slots.clear();
+        for (SnapshotMetadata metadata : listing) {
+            SnapshotMetadata frozen = metadata.freeze();
+            SnapshotMetadata before = previous.remove(frozen.getUniqueName());
+            if (before == null || !sameSlot(before, frozen)) {
+                changed.add(frozen);
+            }
+            slots.put(frozen.getUniqueName(), frozen);
+        }
+        loaded = true;
+        return new Diff(initial, changed, new ArrayList<>(previous.keySet()));
+    }
+
+    /** Records a committed snapshot. */
+    synchronized void put(@NonNull SnapshotMetadata metadata) {
+        if (loaded) {
+            SnapshotMetadata frozen = metadata.freeze();
+            slots.put(frozen.getUniqueName(), frozen);
+        }
+    }
+
+    /** Drops the snapshot a delete reported by id. */
+    synchronized void remove(@NonNull String snapshotId) {
+        Iterator<SnapshotMetadata> iterator = slots.values().iterator();
+        while (iterator.hasNext()) {
+            if (snapshotId.equals(iterator.next().getSnapshotId())) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    synchronized void clear() {
+        slots.clear();
+        loaded = false;
+    }
+
+    private static boolean sameSlot(SnapshotMetadata a, SnapshotMetadata b) {
+        return a.getLastModifiedTimestamp() == b.getLastModifiedTimestamp()
+                && a.getPlayedTime() == b.getPlayedTime()
+                && a.getProgressValue() == b.getProgressValue()
+                && equal(a.getSnapshotId(), b.getSnapshotId())
+                && equal(a.getDescription(), b.getDescription());
+    }
+
+    private static boolean equal(@Nullable Object a, @Nullable Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs snapshot operations one at a time per unique name, so two saves of the same slot never have it
+ * open at once and conflict with each other. Operations on different names still run in parallel.
+ *
+ * An operation counts as finished when it sends its final result to the {@link CallbackContext} it is
+ * started with; the next operation on the name starts then. While a save is queued or running its
+ * bytes are kept, so a load of the same name can be answered from them instead of waiting. A strand
+ * without queued work is dropped.
+ */
+final class SnapshotStrands {
+
+    interface Operation {
+        void start(@NonNull CallbackContext callbackContext);
+    }
+
+    private static final class Strand {
+        final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        boolean running;
+        @Nullable
+        byte[] pendingSave;
+    }
+
+    private final CordovaWebView webView;
+
+    // Guarded by this.
+    private final Map<String, Strand> strands = new HashMap<>();
+
+    SnapshotStrands(CordovaWebView webView) {
+        this.webView = webView;
+    }
+
+    /** Queues a save of {@code bytes}; until it finishes, {@link #pendingSave} returns them. */
+    void save(@NonNull String snapshotName, @NonNull byte[] bytes, @NonNull CallbackContext callbackContext,
+              @NonNull Operation operation) {
+        enqueue(snapshotName, bytes, false, callbackContext, operation);
+    }
+
+    /** Queues a delete; loads queued after it no longer see earlier pending saves. */
+    void delete(@NonNull String snapshotName, @NonNull CallbackContext callbackContext, @NonNull Operation operation) {
+        enqueue(snapshotName, null, true, callbackContext, operation);
+    }
+
+    void run(@NonNull String snapshotName, @NonNull CallbackContext callbackContext, @NonNull Operation operation) {
+        enqueue(snapshotName, null, false, callbackContext, operation);
+    }
+
+    /** The bytes of the latest save of {@code snapshotName} that has not finished yet, if any. */
+    @Nullable
+    synchronized byte[] pendingSave(@NonNull String snapshotName) {
+        Strand strand = strands.get(snapshotName);
+        return strand != null ? strand.pendingSave : null;
+    }
+
+    /** Forgets queued operations; their callbacks are never completed. */
+    synchronized void clear() {
+        strands.clear();
+    }
+
+    private void enqueue(final String snapshotName, @Nullable final byte[] saved, boolean clearsPending,
+                         final CallbackContext callbackContext, final Operation operation) {
+        Runnable work = new Runnable() {
+            @Override
+            public void run() {
+                StrandCallbackContext strandContext = new StrandCallbackContext(snapshotName, saved, callbackContext);
+                try {
+                    operation.start(strandContext);
+                } catch (RuntimeException e) {
+                    strandContext.error(e.getMessage());
+                }
+            }
+        };
+        synchronized (this) {
+            Strand strand = strands.get(snapshotName);
+            if (strand == null) {
+                strand = new Strand();
+                strands.put(snapshotName, strand);
+            }
+            if (saved != null) {
+                strand.pendingSave = saved;
+            } else if (clearsPending) {
+                strand.pendingSave = null;
+            }
+            if (strand.running) {
+                strand.queue.add(work);
+                return;
+            }
+            strand.running = true;
+        }
+        work.run();
+    }
+
+    private void finished(String snapshotName, @Nullable byte[] saved) {
+        Runnable next;
+        synchronized (this) {
+            Strand strand = strands.get(snapshotName);
+            if (strand == null) {
+                return;
+            }
+            if (saved != null && strand.pendingSave == saved) {
+                strand.pendingSave = null;
+            }
+            next = strand.queue.poll();
+            if (next == null) {
+                strand.running = false;
+                if (strand.pendingSave == null) {
+                    strands.remove(snapshotName);
+                }
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    /** Passes results through and starts the next operation on the name after the final one. */
+    private final class StrandCallbackContext extends CallbackContext {
+        final String snapshotName;
+        @Nullable
+        final byte[] saved;
+        final CallbackContext delegate;
+        private boolean done;
+
+        StrandCallbackContext(String snapshotName, @Nullable byte[] saved, CallbackContext delegate) {
+            super(delegate.getCallbackId(), webView);
+            this.snapshotName = snapshotName;
+            this.saved = saved;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            if (pluginResult.getKeepCallback()) {
+                delegate.sendPluginResult(pluginResult);
+                return;
+            }
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+            }
+            try {
+                delegate.sendPluginResult(pluginResult);
+            } finally {
+                finished(snapshotName, saved);
+            }
+        }
+    }
+}
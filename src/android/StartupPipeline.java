@@ -0,0 +1,156 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Continuation;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Startup as a graph of Tasks: each stage starts once the stages it depends on have completed, so
+ * independent stages overlap, and records when it started and how long it took.
+ *
+ * A stage runs whether its dependencies succeeded or not and decides from their Tasks what to do; a
+ * stage that returns {@code null} is recorded as skipped. {@link #report} completes once every stage
+ * has, with {@code {totalMillis, stages: {name: {startMillis, durationMillis, status, error}}}}, where
+ * {@code startMillis} is measured from the creation of the pipeline.
+ */
+final class StartupPipeline {
+
+    interface Stage<T> {
+        @Nullable
+        Task<T> start() throws Exception;
+    }
+
+    private static final class Timing {
+        long startedAt = -1;
+        long finishedAt = -1;
+        String status = "pending";
+        @Nullable
+        String error;
+    }
+
+    private final Executor executor;
+    private final long createdAt = SystemClock.elapsedRealtime();
+
+    // Guarded by this.
+    private final Map<String, Timing> timings = new LinkedHashMap<>();
+    private final List<Task<?>> stages = new ArrayList<>();
+
+    StartupPipeline(@NonNull Executor executor) {
+        this.executor = executor;
+    }
+
+    <T> Task<T> stage(@NonNull String name, @NonNull final Stage<T> body, @NonNull Task<?>... dependencies) {
+        final Timing timing = new Timing();
+        Task<List<Task<?>>> ready = Tasks.whenAllComplete(Arrays.asList(dependencies));
+        Task<T> result = ready.continueWithTask(executor, new Continuation<List<Task<?>>, Task<T>>() {
+            @Override
+            public Task<T> then(@NonNull Task<List<Task<?>>> unused) {
+                synchronized (StartupPipeline.this) {
+                    timing.startedAt = SystemClock.elapsedRealtime();
+                    timing.status = "running";
+                }
+                Task<T> task;
+                try {
+                    task = body.start();
+                } catch (Exception e) {
+                    task = Tasks.forException(e);
+                }
+                if (task == null) {
+                    finish(timing, "skipped", null);
+                    return Tasks.forResult(null);
+                }
+                return task.continueWithTask(executor, new Continuation<T, Task<T>>() {
+                    @Override
+                    public Task<T> then(@NonNull Task<T> done) {
+                        finish(timing, done.isSuccessful() ? "ok" : "failed",
+                                done.getException() != null ? done.getException().getMessage() : null);
+                        return done;
+                    }
+                });
+            }
+        });
+        synchronized (this) {
+            timings.put(name, timing);
+            stages.add(result);
+        }
+        return result;
+    }
+
+    /** Completes, never with a failure, once every stage added so far has finished. */
+    Task<JSONObject> report() {
+        List<Task<?>> all;
+        synchronized (this) {
+            all = new ArrayList<>(stages);
+        }
+        return Tasks.whenAllComplete(all).continueWith(executor, new Continuation<List<Task<?>>, JSONObject>() {
+            @Override
+            public JSONObject then(@NonNull Task<List<Task<?>>> unused) throws JSONException {
+                return toJson();
+            }
+        });
+    }
+
+    private synchronized void finish(Timing timing, String status, @Nullable String error) {
+        timing.finishedAt = SystemClock.elapsedRealtime();
+        timing.status = status;
+        timing.error = error;
+    }
+
+    private synchronized JSONObject toJson() throws JSONException {
+        long last = createdAt;
+        JSONObject stageTimings = new JSONObject();
+        for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+            Timing timing = entry.getValue();
+            JSONObject json = new JSONObject();
+            json.put("status", timing.status);
+            if (timing.startedAt >= 0) {
+                json.put("startMillis", timing.startedAt - createdAt);
+            }
+            if (timing.finishedAt >= 0) {
+                json.put("durationMillis", timing.finishedAt - timing.startedAt);
+                last = Math.max(last, timing.finishedAt);
+            }
+            if (timing.error != null) {
+                json.put("error", timing.error);
+            }
+            stageTimings.put(entry.getKey(), json);
+        }
+        JSONObject report = new JSONObject();
+        report.put("totalMillis", last - createdAt);
+        report.put("stages", stageTimings);
+        return report;
+    }
+}
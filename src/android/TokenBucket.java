@@ -0,0 +1,96 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens, refilled continuously at {@code refillPerSecond}.
+ * A refill rate of 0 disables limiting.
+ *
+ * {@link #reserve()} may take the bucket below zero: the caller then waits until its token would have
+ * been refilled, which keeps queued calls in arrival order without a separate queue.
+ */
+final class TokenBucket {
+
+    private int capacity;
+    private double refillPerSecond;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double refillPerSecond) {
+        configure(capacity, refillPerSecond);
+    }
+
+    synchronized void configure(int capacity, double refillPerSecond) {
+        this.capacity = Math.max(1, capacity);
+        this.refillPerSecond = Math.max(0, refillPerSecond);
+        this.tokens = this.capacity;
+        this.refilledAt = SystemClock.elapsedRealtime();
+    }
+
+    /** Takes a token if one is available. Returns 0 on success, otherwise the wait until one is. */
+    synchronized long tryAcquire() {
+        if (refillPerSecond <= 0) {
+            return 0;
+        }
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return millisUntil(1);
+    }
+
+    /** Takes a token unconditionally and returns how long the caller has to wait before using it. */
+    synchronized long reserve() {
+        if (refillPerSecond <= 0) {
+            return 0;
+        }
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : millisUntil(0);
+    }
+
+    synchronized int getCapacity() {
+        return capacity;
+    }
+
+    synchronized double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+
+    /** Tokens currently available; negative while calls are queued. */
+    synchronized double getTokens() {
+        if (refillPerSecond > 0) {
+            refill();
+        }
+        return tokens;
+    }
+
+    private void refill() {
+        long now = SystemClock.elapsedRealtime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerSecond / 1000.0);
+        refilledAt = now;
+    }
+
+    private long millisUntil(double level) {
+        return (long) Math.ceil((level - tokens) * 1000.0 / refillPerSecond);
+    }
+}
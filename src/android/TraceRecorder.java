@@ -0,0 +1,257 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.Build;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Opt-in recorder of the calls that reach {@code execute}, for replaying real sessions with
+ * {@link TraceReplayer}.
+ *
+ * A trace is a JSON-lines file in {@code files/gpgs-traces}: a header {@code {v, device, sdkInt, startedAt}}
+ * followed by one line per finished call, {@code {t, a, p, d, s, k, n, c}}: start offset in ms, action,
+ * arguments, duration in ms, final status, message type, message length and the number of messages
+ * (more than one for streamed lists). Arguments longer than {@link #INLINE_ARGUMENT_LIMIT} characters,
+ * typically save data, are stored as {@code {"$bytes": length}} and replayed as a synthetic save of
+ * that size, which keeps traces small. Shorter arguments are stored verbatim, so a trace still holds
+ * player data such as player IDs, scores and small saves.
+ */
+final class TraceRecorder {
+
+    static final String PREFERENCE = "GPGS_TRACE";
+    static final String DIRECTORY = "gpgs-traces";
+    static final String SYNTHETIC_KEY = "$bytes";
+    static final int VERSION = 1;
+
+    private static final int INLINE_ARGUMENT_LIMIT = 1024;
+
+    /** Actions that manage tracing or benchmarking, or never finish, are not recorded. */
+    private static final Set<String> UNTRACED_ACTIONS = new HashSet<>(Arrays.asList(
+            "setLogger", "startTraceRecording", "stopTraceRecording", "replayTrace", "runBenchmarks"));
+
+    private final File directory;
+
+    // Guarded by this.
+    @Nullable
+    private Writer writer;
+    @Nullable
+    private File file;
+    private long startedAt;
+    private int events;
+
+    TraceRecorder(@NonNull File filesDir) {
+        this.directory = new File(filesDir, DIRECTORY);
+    }
+
+    synchronized boolean isRecording() {
+        return writer != null;
+    }
+
+    /** Starts a new trace file, finishing any trace in progress, and returns the new file. */
+    synchronized File start() throws IOException, JSONException {
+        stop();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File next = new File(directory, "trace-" + System.currentTimeMillis() + ".jsonl");
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(next), StandardCharsets.UTF_8));
+        JSONObject header = new JSONObject();
+        header.put("v", VERSION);
+        header.put("device", Build.MODEL);
+        header.put("sdkInt", Build.VERSION.SDK_INT);
+        header.put("startedAt", System.currentTimeMillis());
+        out.write(header.toString());
+        out.write('\n');
+        writer = out;
+        file = next;
+        startedAt = SystemClock.elapsedRealtime();
+        events = 0;
+        return next;
+    }
+
+    /** Finishes the trace in progress and returns {@code {file, events, durationMillis}}, or {@code null}. */
+    @Nullable
+    synchronized JSONObject stop() throws JSONException {
+        if (writer == null) {
+            return null;
+        }
+        JSONObject summary = new JSONObject();
+        summary.put("file", file.getAbsolutePath());
+        summary.put("events", events);
+        summary.put("durationMillis", SystemClock.elapsedRealtime() - startedAt);
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // The lines written so far are still a usable trace.
+        }
+        writer = null;
+        file = null;
+        return summary;
+    }
+
+    /** Pushes buffered lines to disk, so a trace survives the app being killed in the background. */
+    synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            closeQuietly();
+        }
+    }
+
+    /** A trace file given as an absolute path or as a name inside the trace directory. */
+    File resolve(@NonNull String path) {
+        File candidate = new File(path);
+        return candidate.isAbsolute() ? candidate : new File(directory, path);
+    }
+
+    /** Wraps {@code callbackContext} so the call is written to the trace once it finishes. */
+    CallbackContext track(@NonNull String action, @NonNull JSONArray args, @NonNull CallbackContext callbackContext,
+                          CordovaWebView webView) {
+        if (UNTRACED_ACTIONS.contains(action)) {
+            return callbackContext;
+        }
+        long offset;
+        synchronized (this) {
+            offset = SystemClock.elapsedRealtime() - startedAt;
+        }
+        return new TracingCallbackContext(action, args, offset, callbackContext, webView);
+    }
+
+    /** {@code args} with long values replaced by their length. */
+    static JSONArray compactArgs(@NonNull JSONArray args) throws JSONException {
+        JSONArray compact = new JSONArray();
+        for (int i = 0; i < args.length(); i++) {
+            Object value = args.get(i);
+            if ((value instanceof String || value instanceof JSONObject || value instanceof JSONArray)
+                    && value.toString().length() > INLINE_ARGUMENT_LIMIT) {
+                compact.put(new JSONObject().put(SYNTHETIC_KEY, value.toString().length()));
+            } else {
+                compact.put(value);
+            }
+        }
+        return compact;
+    }
+
+    /** The inverse of {@link #compactArgs}: stored lengths become synthetic saves of that size. */
+    static JSONArray expandArgs(@NonNull JSONArray args) throws JSONException {
+        JSONArray expanded = new JSONArray();
+        for (int i = 0; i < args.length(); i++) {
+            Object value = args.get(i);
+            JSONObject object = value instanceof JSONObject ? (JSONObject) value : null;
+            if (object != null && object.length() == 1 && object.has(SYNTHETIC_KEY)) {
+                expanded.put(Benchmarks.syntheticSave(object.getInt(SYNTHETIC_KEY)));
+            } else {
+                expanded.put(value);
+            }
+        }
+        return expanded;
+    }
+
+    private synchronized void write(JSONObject event) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(event.toString());
+            writer.write('\n');
+            events++;
+        } catch (IOException e) {
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // Already failing; recording stops either way.
+        }
+        writer = null;
+        file = null;
+    }
+
+    private final class TracingCallbackContext extends CallbackContext {
+        final String action;
+        final JSONArray args;
+        final long offset;
+        final long startedAtNanos = System.nanoTime();
+        final CallbackContext delegate;
+        private int messages;
+
+        TracingCallbackContext(String action, JSONArray args, long offset, CallbackContext delegate, CordovaWebView webView) {
+            super(delegate.getCallbackId(), webView);
+            this.action = action;
+            this.args = args;
+            this.offset = offset;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            delegate.sendPluginResult(pluginResult);
+            int count;
+            synchronized (this) {
+                count = ++messages;
+            }
+            if (pluginResult.getKeepCallback()) {
+                return;
+            }
+            try {
+                JSONObject event = new JSONObject();
+                event.put("t", offset);
+                event.put("a", action);
+                event.put("p", compactArgs(args));
+                event.put("d", (System.nanoTime() - startedAtNanos) / 1_000_000L);
+                event.put("s", pluginResult.getStatus());
+                event.put("k", pluginResult.getMessageType());
+                String message = pluginResult.getMessage();
+                event.put("n", message != null ? message.length() : 0);
+                event.put("c", count);
+                write(event);
+            } catch (JSONException ignored) {
+                // Recording must never affect the call itself.
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.Debug;
+
+import androidx.annotation.NonNull;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a {@link TraceRecorder} trace through {@code execute} and reports throughput, latency
+ * percentiles and allocation per call.
+ *
+ * Calls are started at their recorded offsets divided by {@code speed}; a speed of 0 starts each call
+ * as soon as the previous one has been dispatched. Latency runs from dispatch to the final result.
+ * Calls whose final status or message type differs from the recording are counted as mismatches.
+ * Allocation is read from ART's process-wide counter, so it includes whatever else the app does
+ * during the replay.
+ */
+final class TraceReplayer {
+
+    interface Target {
+        boolean execute(@NonNull String action, @NonNull JSONArray args, @NonNull CallbackContext callbackContext) throws JSONException;
+    }
+
+    private static final String ALLOCATED_BYTES_STAT = "art.gc.bytes-allocated";
+
+    private final Target target;
+    private final CordovaWebView webView;
+
+    TraceReplayer(@NonNull Target target, CordovaWebView webView) {
+        this.target = target;
+        this.webView = webView;
+    }
+
+    private static final class Call {
+        final long offset;
+        final String action;
+        final JSONArray args;
+        final int status;
+        final int messageType;
+        volatile long startedAtNanos;
+        volatile long latencyNanos = -1;
+        volatile boolean failed;
+        volatile boolean mismatch;
+
+        Call(JSONObject event) throws JSONException {
+            offset = event.getLong("t");
+            action = event.getString("a");
+            args = TraceRecorder.expandArgs(event.getJSONArray("p"));
+            status = event.optInt("s", -1);
+            messageType = event.optInt("k", -1);
+        }
+    }
+
+    /**
+     * Replays {@code trace} and blocks until every call has finished or {@code timeoutMillis} has passed
+     * since the last one was started.
+     */
+    JSONObject replay(@NonNull BufferedReader trace, double speed, long timeoutMillis) throws IOException, JSONException, InterruptedException {
+        String headerLine = trace.readLine();
+        if (headerLine == null || new JSONObject(headerLine).optInt("v") != TraceRecorder.VERSION) {
+            throw new JSONException("Not a GPGS trace.");
+        }
+        List<Call> calls = new ArrayList<>();
+        for (String line = trace.readLine(); line != null; line = trace.readLine()) {
+            if (!line.isEmpty()) {
+                calls.add(new Call(new JSONObject(line)));
+            }
+        }
+
+        final CountDownLatch finished = new CountDownLatch(calls.size());
+        long allocatedBefore = allocatedBytes();
+        long startedAt = System.nanoTime();
+        for (final Call call : calls) {
+            if (speed > 0) {
+                long due = startedAt + (long) (call.offset * 1_000_000L / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+            call.startedAtNanos = System.nanoTime();
+            CallbackContext callbackContext = new CallbackContext("replay", webView) {
+                private boolean done;
+
+                @Override
+                public void sendPluginResult(PluginResult pluginResult) {
+                    if (pluginResult.getKeepCallback()) {
+                        return;
+                    }
+                    synchronized (this) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                    }
+                    call.latencyNanos = System.nanoTime() - call.startedAtNanos;
+                    call.failed = pluginResult.getStatus() != PluginResult.Status.OK.ordinal();
+                    call.mismatch = call.status >= 0 && (pluginResult.getStatus() != call.status
+                            || pluginResult.getMessageType() != call.messageType);
+                    finished.countDown();
+                }
+            };
+            try {
+                if (!target.execute(call.action, call.args, callbackContext)) {
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.INVALID_ACTION));
+                }
+            } catch (JSONException e) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, e.getMessage()));
+            }
+        }
+        boolean complete = finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long allocatedAfter = allocatedBytes();
+
+        JSONObject report = new JSONObject();
+        report.put("calls", calls.size());
+        report.put("complete", complete);
+        report.put("speed", speed);
+        report.put("durationMillis", elapsedNanos / 1_000_000L);
+        report.put("callsPerSecond", elapsedNanos > 0 ? calls.size() * 1e9 / elapsedNanos : 0);
+        summarize(calls, report);
+        if (allocatedBefore >= 0 && allocatedAfter >= 0 && !calls.isEmpty()) {
+            report.put("allocatedBytesPerCall", (allocatedAfter - allocatedBefore) / calls.size());
+        }
+
+        Map<String, List<Call>> byAction = new LinkedHashMap<>();
+        for (Call call : calls) {
+            List<Call> group = byAction.get(call.action);
+            if (group == null) {
+                group = new ArrayList<>();
+                byAction.put(call.action, group);
+            }
+            group.add(call);
+        }
+        JSONObject actions = new JSONObject();
+        for (Map.Entry<String, List<Call>> entry : byAction.entrySet()) {
+            JSONObject summary = new JSONObject();
+            summary.put("calls", entry.getValue().size());
+            summarize(entry.getValue(), summary);
+            actions.put(entry.getKey(), summary);
+        }
+        report.put("actions", actions);
+        return report;
+    }
+
+    /** Adds {@code errors}, {@code mismatches}, {@code unfinished} and {@code latencyMillis} percentiles. */
+    private static void summarize(List<Call> calls, JSONObject target) throws JSONException {
+        long[] latencies = new long[calls.size()];
+        int finished = 0;
+        int errors = 0;
+        int mismatches = 0;
+        for (Call call : calls) {
+            long latency = call.latencyNanos;
+            if (latency < 0) {
+                continue;
+            }
+            latencies[finished++] = latency;
+            if (call.failed) errors++;
+            if (call.mismatch) mismatches++;
+        }
+        latencies = Arrays.copyOf(latencies, finished);
+        Arrays.sort(latencies);
+
+        target.put("errors", errors);
+        target.put("mismatches", mismatches);
+        target.put("unfinished", calls.size() - finished);
+        if (finished > 0) {
+            JSONObject latency = new JSONObject();
+            latency.put("p50", percentileMillis(latencies, 0.50));
+            latency.put("p90", percentileMillis(latencies, 0.90));
+            latency.put("p99", percentileMillis(latencies, 0.99));
+            latency.put("max", latencies[finished - 1] / 1e6);
+            target.put("latencyMillis", latency);
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    /** Bytes allocated by the process so far, or -1 where ART does not report it. */
+    private static long allocatedBytes() {
+        try {
+            String value = Debug.getRuntimeStat(ALLOCATED_BYTES_STAT);
+            return value != null ? Long.parseLong(value) : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -36,17 +36,136 @@
 
 var exec = require('cordova/exec');
 
+// Call options set by GPGS.withCallOptions for the duration of one synchronous method call.
+var pendingCallOptions = null;
+var nextCallId = 1;
+
+/**
+ * Build the saveGame / autosave arguments. Cordova only converts top-level ArrayBuffers, so cover
+ * image bytes travel as their own argument.
+ */
+function saveArgs(snapshotName, description, data, options) {
+    var cover = options && options.coverImage;
+    if (!cover) {
+        return [snapshotName, description, data];
+    }
+    if (typeof cover === 'string') {
+        return [snapshotName, description, data, { coverImagePath: cover }];
+    }
+    var buffer = ArrayBuffer.isView(cover)
+        ? cover.buffer.slice(cover.byteOffset, cover.byteOffset + cover.byteLength)
+        : cover;
+    return [snapshotName, description, data, null, buffer];
+}
+
 /**
  * Helper to call the native side without repeating the Promise boilerplate.
+ * When called through `GPGS.withCallOptions`, the deadline and call id travel as a trailing
+ * `{gpgsCall: {id, timeoutMillis}}` argument and the returned promise exposes `callId`.
  *
  * @param {string} action - Native action name
  * @param {Array} [args=[]] - Arguments passed to the native side
+ * @param {function(*, function(*): void): void} [onMessage] - Receives every success message, including
+ * keep-callback ones, together with the promise's resolve function
  * @returns {Promise<any>} Resolves with the native success payload
  */
-function callNative(action, args) {
-    return new Promise((resolve, reject) => {
-        exec(resolve, reject, 'GPGS', action, args || []);
+function callNative(action, args, onMessage) {
+    var nativeArgs = args ? args.slice() : [];
+    var callOptions = pendingCallOptions;
+    pendingCallOptions = null;
+    var callId;
+    if (callOptions) {
+        callId = callOptions.callId || ('gpgs-' + (nextCallId++));
+        nativeArgs.push({ gpgsCall: { id: callId, timeoutMillis: callOptions.timeoutMillis || 0 } });
+    }
+    var promise = new Promise((resolve, reject) => {
+        exec(onMessage ? function(message) { onMessage(message, resolve); } : resolve, reject, 'GPGS', action, nativeArgs);
     });
+    if (callId) {
+        promise.callId = callId;
+    }
+    return promise;
+}
+
+var COLUMN_TYPES = {
+    int32: Int32Array,
+    float64: Float64Array
+};
+
+/**
+ * Decode a columnar binary result (see `options.format = 'columnar'`).
+ * String columns come back as arrays, numeric columns as typed array views over the payload.
+ *
+ * @param {ArrayBuffer} buffer - Binary payload returned by the native side
+ * @returns {{count: number, meta: Object, columns: Object<string, Array|Int32Array|Float64Array>}}
+ */
+function decodeColumnar(buffer) {
+    var headerLength = new DataView(buffer).getUint32(0, true);
+    var header = JSON.parse(new TextDecoder('utf-8').decode(new Uint8Array(buffer, 4, headerLength)));
+    var dataStart = (4 + headerLength + 7) & ~7;
+    var columns = {};
+    header.columns.forEach(function(column) {
+        if (column.type === 'string') {
+            columns[column.name] = column.values;
+        } else {
+            columns[column.name] = new COLUMN_TYPES[column.type](buffer, dataStart + column.offset, header.count);
+        }
+    });
+    return { count: header.count, meta: header.meta, columns: columns };
+}
+
+/**
+ * Reassemble a list result that the native side streams in chunks (see `options.chunkSize`).
+ * Non-chunked messages resolve unchanged. With `options.onChunk` each chunk is handed over as it arrives
+ * and the promise resolves with `{count}` plus any metadata instead of the full list.
+ */
+function collectChunks(options) {
+    var onChunk = options && typeof options.onChunk === 'function' ? options.onChunk : null;
+    var items = [];
+    var meta = {};
+    return function(message, resolve) {
+        if (!message || !Array.isArray(message.chunk)) {
+            resolve(message);
+            return;
+        }
+        if (message.meta) {
+            meta = message.meta;
+        }
+        if (onChunk) {
+            // Paged lists can end with an empty chunk that only carries `done`.
+            if (message.chunk.length || message.offset === 0) {
+                onChunk(message.chunk, message.offset);
+            }
+        } else {
+            Array.prototype.push.apply(items, message.chunk);
+        }
+        if (!message.done) {
+            return;
+        }
+        if (onChunk) {
+            resolve(Object.assign({ count: message.count }, meta));
+        } else if (message.key) {
+            var result = Object.assign({}, meta);
+            result[message.key] = items;
+            resolve(result);
+        } else {
+            resolve(items);
+        }
+    };
+}
+
+/**
+ * Call a list action and decode the payload when the columnar format was requested.
+ */
+function callListNative(action, args, options) {
+    var columnar = options && options.format === 'columnar';
+    var result = callNative(action, args, columnar ? null : collectChunks(options));
+    if (!columnar) {
+        return result;
+    }
+    var decoded = result.then(decodeColumnar);
+    decoded.callId = result.callId;
+    return decoded;
 }
 
 /* eslint-disable */
@@ -117,6 +236,17 @@ var GPGS = {
         });
     },
 
+    /**
+     * Configure how often Play Services availability is re-checked. The status is cached and
+     * `gpgs.availability` fires only when it changes.
+     * @param {Object} options - Monitor options
+     * @param {number} [options.intervalMillis=0] - Re-check interval while in the foreground; 0 re-checks on resume only
+     * @returns {Promise<{status: number, isAvailable: boolean, intervalMillis: number}>}
+     */
+    configureAvailabilityMonitor: function(options) {
+        return callNative('configureAvailabilityMonitor', [options || {}]);
+    },
+
     /**
      * Check if user is signed in
      * @returns {Promise<boolean>} Promise that resolves with sign-in status
@@ -200,20 +330,42 @@ var GPGS = {
     /**
      * Load all achievements for the current player
      * @param {boolean} forceReload - Whether to force a reload from the server
-     * @returns {Promise<Array>} Promise that resolves with an array of achievement objects
+     * @param {{fields?: string[], format?: 'columnar', sinceVersion?: string|null, chunkSize?: number, onChunk?: function(Array, number): void}} [options] -
+     * `fields` limits each achievement to the listed properties,
+     * `format: 'columnar'` returns one array per field instead of one object per achievement,
+     * `sinceVersion` switches to delta sync (pass `null` for the first call, then the returned `version`),
+     * `chunkSize` and `onChunk` control streaming (see "Streaming Large Lists" in the README)
+     * @returns {Promise<Array|Object>} Promise that resolves with an array of achievement objects
+     * (or `{count, meta, columns}` in columnar format, or `{version, changes, removed?, full?}` in delta mode)
      */
-    loadAchievements: function(forceReload) {
-        return callNative('loadAchievements', [forceReload || false]);
+    loadAchievements: function(forceReload, options) {
+        return callListNative('loadAchievements', [forceReload || false, options || null], options);
     },
 
     /**
      * Submit a score to a leaderboard
      * @param {string} leaderboardId - ID of the leaderboard
-     * @param {number} score - Score to submit
-     * @returns {Promise<void>} Promise that resolves when score is submitted
+     * @param {number|string} score - Score to submit; pass a decimal string for values above 2^53
+     * @param {{immediate?: boolean, scoreTag?: string}} [options] - With `immediate`, wait for the server and
+     *     resolve with the outcome per time span instead of submitting in the background. `scoreTag` is stored
+     *     with the score
+     * @returns {Promise<void|{leaderboardId: string, playerId: string, daily?: Object, weekly?: Object, allTime?: Object}>}
+     *     Each time span carries `rawScore`, `formattedScore`, `scoreTag` and `newBest`
      */
-    submitScore: function(leaderboardId, score) {
-        return callNative('updatePlayerScore', [leaderboardId, score]);
+    submitScore: function(leaderboardId, score, options) {
+        return callNative('updatePlayerScore', options ? [leaderboardId, score, options] : [leaderboardId, score]);
+    },
+
+    /**
+     * Submit scores to several leaderboards in one call; the submissions run concurrently.
+     * @param {Array<{leaderboardId: string, score: number|string, scoreTag?: string}>} submissions
+     * @param {{immediate?: boolean}} [options] - With `immediate`, wait for every submission and report its outcome
+     * @returns {Promise<{submitted: number}|{results: Array<Object>, failed: number}>} With `immediate`, `results`
+     *     follows the order of `submissions`; each entry is the `submitScore` immediate result or
+     *     `{leaderboardId, error}`
+     */
+    submitScores: function(submissions, options) {
+        return callNative('submitScores', [submissions || [], options || null]);
     },
 
     /**
@@ -248,10 +400,29 @@ var GPGS = {
      * @param {number} timeSpan - Time span (0=daily, 1=weekly, 2=all_time)
      * @param {number} collection - Collection (0=public, 1=social)
      * @param {number} maxResults - Max number of scores to return
+     * @param {{fields?: string[], format?: 'columnar', chunkSize?: number, onChunk?: function(Array, number): void}} [options] -
+     * `fields` limits each score to the listed properties
+     * (dot paths such as `scoreHolder.displayName` select nested fields, `leaderboard` keeps the header);
+     * `format: 'columnar'` returns one column per field with the leaderboard in `meta.leaderboard`;
+     * `chunkSize` and `onChunk` control streaming of `scores`
      * @returns {Promise<Object>} Promise that resolves with leaderboard scores
      */
-    loadTopScores: function(leaderboardId, timeSpan, collection, maxResults) {
-        return callNative('loadTopScores', [leaderboardId, timeSpan, collection, maxResults]);
+    loadTopScores: function(leaderboardId, timeSpan, collection, maxResults, options) {
+        return callListNative('loadTopScores', [leaderboardId, timeSpan, collection, maxResults, options || null], options);
+    },
+
+    /**
+     * Load the top scores of several leaderboards in one call. The loads run concurrently.
+     * @param {Array<{leaderboardId: string, timeSpan?: number, collection?: number, maxResults?: number}>} queries -
+     *     `timeSpan` defaults to all-time, `collection` to public
+     * @param {{maxResults?: number, parallelism?: number, fields?: string[]}} [options] - `maxResults` (default 25)
+     *     applies to queries without their own; at most `parallelism` loads (default 4) run at a time
+     * @returns {Promise<{leaderboards: Object<string, Object>, results: Array<Object>, failed: number}>}
+     *     `results` follows the order of `queries`, each with `scores` or `error`; every leaderboard's metadata
+     *     appears once in `leaderboards`
+     */
+    loadTopScoresForMany: function(queries, options) {
+        return callNative('loadTopScoresForMany', [queries || [], options || null]);
     },
 
     /**
@@ -260,19 +431,24 @@ var GPGS = {
      * @param {number} timeSpan - Time span (0=daily, 1=weekly, 2=all_time)
      * @param {number} collection - Collection (0=public, 1=social)
      * @param {number} maxResults - Max number of scores to return
+     * @param {{fields?: string[], format?: 'columnar', chunkSize?: number, onChunk?: function(Array, number): void}} [options] - Same options as `loadTopScores`
      * @returns {Promise<Object>} Promise that resolves with leaderboard scores
      */
-    loadPlayerCenteredScores: function(leaderboardId, timeSpan, collection, maxResults) {
-        return callNative('loadPlayerCenteredScores', [leaderboardId, timeSpan, collection, maxResults]);
+    loadPlayerCenteredScores: function(leaderboardId, timeSpan, collection, maxResults, options) {
+        return callListNative('loadPlayerCenteredScores', [leaderboardId, timeSpan, collection, maxResults, options || null], options);
     },
 
     /**
      * Load leaderboard metadata
      * @param {string} [leaderboardId] - ID of the leaderboard (optional, loads all if not provided)
+     * @param {{fields?: string[]}} [options] - `fields` limits each leaderboard to the listed properties when loading all
      * @returns {Promise<Object|Array>} Promise that resolves with leaderboard metadata
      */
-    loadLeaderboardMetadata: function(leaderboardId) {
-        return callNative('loadLeaderboardMetadata', leaderboardId ? [leaderboardId] : []);
+    loadLeaderboardMetadata: function(leaderboardId, options) {
+        if (leaderboardId) {
+            return callNative('loadLeaderboardMetadata', [leaderboardId]);
+        }
+        return callNative('loadLeaderboardMetadata', options ? [null, options] : []);
     },
 
     /**
@@ -298,14 +474,44 @@ var GPGS = {
      * @param {string} snapshotName - Name of the save
      * @param {string} description - Description of the save
      * @param {Object} data - Data to save
+     * @param {Object} [options] - Save options
+     * @param {string|ArrayBuffer|ArrayBufferView} [options.coverImage] - Cover screenshot: a file path,
+     *     file:// or content:// URI, or encoded image bytes. It is downscaled in the background; if it
+     *     cannot be decoded the game is saved without it
      * @returns {Promise<void>} Promise that resolves when save is complete
      */
-    saveGame: function(snapshotName, description, data) {
-        return callNative('saveGame', [snapshotName, description, data]);
+    saveGame: function(snapshotName, description, data, options) {
+        return callNative('saveGame', saveArgs(snapshotName, description, data, options));
+    },
+
+    /**
+     * Queue a save that is committed once the game stops saving for a moment. Only the latest data per
+     * snapshot name is kept; everything pending is committed when the app is paused.
+     * @param {string} snapshotName - Name of the save
+     * @param {string} description - Description of the save
+     * @param {Object} data - Data to save
+     * @param {Object} [options] - Same options as saveGame
+     * @returns {Promise<{status: string}>} Resolves with status 'saved' once committed, or 'coalesced'
+     *     as soon as a newer autosave for the same name replaces this one
+     */
+    autosave: function(snapshotName, description, data, options) {
+        return callNative('autosave', saveArgs(snapshotName, description, data, options));
     },
 
     /**
-     * Load game data
+     * Configure autosave timing
+     * @param {Object} options - Autosave options
+     * @param {number} [options.quietMillis=2000] - Commit once no autosave has arrived for this long
+     * @param {number} [options.maxDelayMillis=10000] - Commit at the latest this long after the first
+     *     autosave of a burst
+     * @returns {Promise<void>}
+     */
+    configureAutosave: function(options) {
+        return callNative('configureAutosave', [options || {}]);
+    },
+
+    /**
+     * Load game data. While a save of the same name is still pending, resolves with its data.
      * @param {string} snapshotName - Name of the save to load
      * @returns {Promise<Object>} Promise that resolves with the saved data
      */
@@ -323,20 +529,30 @@ var GPGS = {
     },
 
     /**
-     * Load all snapshots for the current player
+     * Load all snapshots for the current player. Once the list has been loaded, non-forced calls are answered
+     * from memory and refresh it in the background; slots that changed are reported through `gpgs.snapshots`.
      * @param {boolean} forceReload - Whether to force a reload from the server
-     * @returns {Promise<Array>} Promise that resolves with an array of snapshot metadata objects
+     * @param {{fields?: string[], format?: 'columnar', chunkSize?: number, onChunk?: function(Array, number): void}} [options] -
+     * `fields` limits each snapshot to the listed properties, `format: 'columnar'` returns one array per field,
+     * `chunkSize` and `onChunk` control streaming
+     * @returns {Promise<Array|Object>} Promise that resolves with an array of snapshot metadata objects
      */
-    loadAllSnapshots: function(forceReload) {
-        return callNative('loadAllSnapshots', [forceReload || false]);
+    loadAllSnapshots: function(forceReload, options) {
+        return callListNative('loadAllSnapshots', [forceReload || false, options || null], options);
     },
 
     /**
-     * Get list of friends
-     * @returns {Promise<Array>} Promise that resolves with array of friend objects
+     * Get list of friends. The first call pages the list in and streams each page through `onChunk` as it
+     * arrives; once the whole list has been loaded, calls are answered from memory and the list is re-synced
+     * in the background.
+     * @param {{fields?: string[], pageSize?: number, forceReload?: boolean, sinceVersion?: string|null, chunkSize?: number, onChunk?: function(Array, number): void}} [options] -
+     * `fields` selects player properties (defaults to `id` and `displayName`), `pageSize` sets the friends per page
+     * (default 50), `forceReload` pages the list in again, `sinceVersion` returns only friends changed since that
+     * token (see "Delta Sync" in the README), `chunkSize` and `onChunk` control streaming
+     * @returns {Promise<Array|Object>} Promise that resolves with array of friend objects, or a delta object
      */
-    getFriendsList: function() {
-        return callNative('getFriendsList');
+    getFriendsList: function(options) {
+        return callListNative('getFriendsList', [options || null], options);
     },
 
     /**
@@ -357,12 +573,25 @@ var GPGS = {
     },
 
     /**
-     * Get player info
+     * Get player info. Profiles seen recently are served from the native player cache.
      * @param {string} playerId - ID of the player (optional, defaults to current player)
+     * @param {boolean} [forceReload=false] - Bypass the cache and load a fresh profile
      * @returns {Promise<Object>} Promise that resolves with player info
      */
-    getPlayerInfo: function(playerId) {
-        return callNative('getPlayer', [playerId || '']);
+    getPlayerInfo: function(playerId, forceReload) {
+        return callNative('getPlayer', [playerId || '', !!forceReload]);
+    },
+
+    /**
+     * Get several players in one call. Profiles seen recently (including leaderboard score holders)
+     * are served from the native player cache; the rest are loaded concurrently.
+     * @param {string[]} playerIds - IDs of the players
+     * @param {boolean} [forceReload=false] - Bypass the cache and reload every player
+     * @param {{fields?: string[]}} [options] - `fields` selects player properties (defaults to `id` and `displayName`)
+     * @returns {Promise<Array<Object|null>>} Players in the order of `playerIds`, `null` where loading failed
+     */
+    getPlayers: function(playerIds, forceReload, options) {
+        return callNative('getPlayers', [playerIds || [], forceReload || false, options || null]);
     },
 
     /**
@@ -385,28 +614,192 @@ var GPGS = {
 
     /**
      * Get all events
-     * @returns {Promise<Array>} Promise that resolves with array of events
+     * @param {{fields?: string[], sinceVersion?: string|null, freshness?: 'cache'|'local'|'network', maxAgeMillis?: number, chunkSize?: number, onChunk?: function(Array, number): void}} [options] -
+     * `fields` limits each event to the listed properties, `sinceVersion` returns only events whose value changed since
+     * that version token, `freshness` picks the data source (default `'network'`) and `maxAgeMillis` bounds the age of
+     * catalogue data served with `'cache'`; `chunkSize` and `onChunk` control streaming
+     * @returns {Promise<Array|Object>} Promise that resolves with array of events (or `{version, changes, removed?, full?}` in delta mode)
      */
-    getAllEvents: function() {
-        return callNative('getAllEvents');
+    getAllEvents: function(options) {
+        return callListNative('getAllEvents', [options || null], options);
     },
 
     /**
      * Get specific event
      * @param {string} eventId - ID of the event
+     * @param {{freshness?: 'cache'|'local'|'network', maxAgeMillis?: number}} [options] - Data source (default `'network'`)
      * @returns {Promise<Object>} Promise that resolves with event data
      */
-    getEvent: function(eventId) {
-        return callNative('getEvent', [eventId]);
+    getEvent: function(eventId, options) {
+        return callNative('getEvent', [eventId, options || null]);
+    },
+
+    /**
+     * Get several events in one call from the native event catalogue. Values include local
+     * increments that Play Games has not reported back yet.
+     * @param {string[]} eventIds - IDs of the events
+     * @param {{fields?: string[], freshness?: 'cache'|'local'|'network', maxAgeMillis?: number}} [options] -
+     * `freshness` defaults to `'cache'`: the catalogue is used when loaded (and younger than `maxAgeMillis`),
+     * otherwise it is refilled with one load
+     * @returns {Promise<Array<Object|null>>} Events in the order of `eventIds`, `null` for unknown IDs
+     */
+    getEvents: function(eventIds, options) {
+        return callNative('getEvents', [eventIds || [], options || null]);
+    },
+
+    /**
+     * Resolve a Play Games image URI (`iconImageUri`, `hiResImageUri`, `revealedImageUri`,
+     * `unlockedImageUri`, `coverImageUri`) into something the WebView can display.
+     * Images are downsampled natively and cached in memory and on disk.
+     * @param {string} uri - `content://` URI returned by another call
+     * @param {{maxSize?: number, as?: 'file'|'bytes'}} [options] - `maxSize` bounds the longer edge in pixels;
+     * `as: 'bytes'` returns the PNG as an ArrayBuffer instead of a cached file path
+     * @returns {Promise<{uri: string, path: string, width: number, height: number}|ArrayBuffer>}
+     */
+    loadImage: function(uri, options) {
+        return callNative('loadImage', [uri, options || null]);
+    },
+
+    /**
+     * Remove every cached image from memory and disk.
+     * @returns {Promise<void>}
+     */
+    clearImageCache: function() {
+        return callNative('clearImageCache');
+    },
+
+    /**
+     * Retry and circuit breaker state for every API family.
+     * @returns {Promise<Object>} Map of family name to {state, consecutiveFailures, retryAfterMillis, calls, retries, failures, rejected}.
+     */
+    getCallStats: function() {
+        return callNative('getCallStats');
+    },
+
+    /**
+     * Run the next plugin call with a deadline and/or an id that `cancel` can refer to.
+     * Returns an object with the same methods as GPGS, e.g.
+     * `GPGS.withCallOptions({ timeoutMillis: 5000, callId: 'leaderboard' }).loadTopScores(...)`.
+     * A call that misses its deadline rejects with `reason: 'timeout'`; its late result is dropped.
+     * @param {{timeoutMillis?: number, callId?: string}} options
+     * @returns {Object} GPGS methods bound to these call options. The promise they return has a `callId`.
+     */
+    withCallOptions: function(options) {
+        var bound = {};
+        Object.keys(GPGS).forEach(function(name) {
+            if (typeof GPGS[name] !== 'function') {
+                return;
+            }
+            bound[name] = function() {
+                pendingCallOptions = options || {};
+                try {
+                    return GPGS[name].apply(GPGS, arguments);
+                } finally {
+                    pendingCallOptions = null;
+                }
+            };
+        });
+        return bound;
+    },
+
+    /**
+     * Abandon a pending call started through `withCallOptions`. Its promise rejects with
+     * `reason: 'cancelled'` and any result that arrives later is dropped.
+     * @param {string} callId - Id from the call options or the promise's `callId`
+     * @returns {Promise<{cancelled: boolean}>} `cancelled` is false when the call had already finished
+     */
+    cancel: function(callId) {
+        return callNative('cancel', [callId]);
+    },
+
+    /**
+     * Configure the client-side rate limiter per API family.
+     * @param {Object} limits - Map of family name ('achievements', 'leaderboards', 'snapshots', 'events', 'players')
+     *     to {capacity?: number, refillPerSecond?: number, mode?: 'queue'|'shed'|'coalesce'}.
+     * @returns {Promise<void>}
+     */
+    configureRateLimits: function(limits) {
+        return callNative('configureRateLimits', [limits || {}]);
+    },
+
+    /**
+     * Change the simulated conditions of the fake backend enabled with the `GPGS_FAKE_BACKEND`
+     * preference. Omitted values are kept; call without options to only read the settings and counters.
+     * @param {{latencyMillis?: number, jitterMillis?: number, failureRate?: number, failureStatusCode?: number,
+     *     throttle?: {capacity?: number, refillPerSecond?: number}}} [options]
+     * @returns {Promise<Object>} Current settings plus `calls`, `failures`, `throttled` and `imageLoads` counters
+     */
+    configureFakeBackend: function(options) {
+        return callNative('configureFakeBackend', [options || null]);
+    },
+
+    /**
+     * Benchmark the plugin's hot paths (dispatch, JSON conversion, snapshot encoding, error reporting)
+     * against the fake backend's dataset. Needs the `GPGS_FAKE_BACKEND` preference and runs for several seconds.
+     * @param {{warmupMillis?: number, measureMillis?: number, iterations?: number, include?: string,
+     *     baseline?: Object, threshold?: number}} [options] - `include` is a regular expression over case
+     *     names; `baseline` is an earlier report to compare against
+     * @returns {Promise<Object>} Report with `results` (`name`, `size`, `nsPerOp`, `stdDevNs`, and `ratio`
+     *     when a baseline was given) and the names of cases slower than `threshold` times their baseline in `regressions`
+     */
+    runBenchmarks: function(options) {
+        return callNative('runBenchmarks', [options || null]);
+    },
+
+    /**
+     * Start recording every plugin call (action, arguments, timing and result shape) to a trace file
+     * in the app's `files/gpgs-traces` directory. Long arguments such as save data are stored by size only;
+     * shorter ones are stored as they are, so traces contain player data such as player IDs, scores and
+     * small saves. Recording also starts at launch when the `GPGS_TRACE` preference is true.
+     * @returns {Promise<{file: string}>}
+     */
+    startTraceRecording: function() {
+        return callNative('startTraceRecording');
+    },
+
+    /**
+     * Finish the trace being recorded.
+     * @returns {Promise<{file: string, events: number, durationMillis: number}>}
+     */
+    stopTraceRecording: function() {
+        return callNative('stopTraceRecording');
+    },
+
+    /**
+     * Replay a recorded trace against the fake backend (`GPGS_FAKE_BACKEND` preference).
+     * @param {{file?: string, trace?: string, speed?: number, timeoutMillis?: number}} options - `file` is a path
+     *     or a name in the trace directory, `trace` the trace text itself; `speed` divides the recorded gaps
+     *     between calls (default 1, 0 for no gaps)
+     * @returns {Promise<Object>} Report with `callsPerSecond`, `latencyMillis` percentiles, `allocatedBytesPerCall`,
+     *     `errors`, `mismatches` and the same figures per action under `actions`
+     */
+    replayTrace: function(options) {
+        return callNative('replayTrace', [options || {}]);
     },
 
     /**
      * Initialize the plugin and perform silent sign-in.
      * This must be called once by the app before using authenticated features.
-     * @returns {Promise<void>} Promise that resolves when initialization request is sent.
+     * @returns {Promise<Object>} Resolves once startup has finished with `{isSignedIn, isAvailable, totalMillis,
+     *     stages}`, where `stages` holds `{status, startMillis, durationMillis, error}` for `sdk`,
+     *     `availability`, `auth`, `signIn` and `warmup`. These timings describe the first start only; a
+     *     later call runs a new sign-in pass and reports it without the `sdk` stage
      */
     initialize: function() {
         return callNative('initialize');
+    },
+
+    /**
+     * Configure the post-sign-in warmup. When enabled, every successful sign-in (initialize,
+     * resume, login) preloads the selected datasets concurrently so the first non-forced
+     * `getPlayerInfo`, `loadAchievements`, `loadLeaderboardMetadata` and `loadAllSnapshots` calls
+     * are answered from memory. Completion is reported through the `gpgs.warmup` event.
+     * Can also be enabled at startup with the `GPGS_WARMUP` preference.
+     * @param {{enabled?: boolean, datasets?: Array<'player'|'achievements'|'leaderboards'|'snapshots'>}} options
+     * @returns {Promise<void>}
+     */
+    configureWarmup: function(options) {
+        return callNative('configureWarmup', [options || {}]);
     }
 };
 